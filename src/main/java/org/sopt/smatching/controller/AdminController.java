@@ -4,6 +4,9 @@ import lombok.extern.slf4j.Slf4j;
 import org.sopt.smatching.model.notice.Notice;
 import org.sopt.smatching.model.notice.NoticeInput;
 import org.sopt.smatching.service.NoticeService;
+import org.sopt.smatching.utils.NoticeDetailCache;
+import org.sopt.smatching.utils.ResponseCache;
+import org.sopt.smatching.utils.job.ChunkedJobExecutor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -30,10 +33,16 @@ public class AdminController {
     private String ADMIN_PASSWORD;
 
     private NoticeService noticeService;
+    private ChunkedJobExecutor chunkedJobExecutor;
+    private NoticeDetailCache noticeDetailCache;
+    private ResponseCache responseCache;
 
 
-    public AdminController(NoticeService noticeService) {
+    public AdminController(NoticeService noticeService, ChunkedJobExecutor chunkedJobExecutor, NoticeDetailCache noticeDetailCache, ResponseCache responseCache) {
         this.noticeService = noticeService;
+        this.chunkedJobExecutor = chunkedJobExecutor;
+        this.noticeDetailCache = noticeDetailCache;
+        this.responseCache = responseCache;
     }
 
 
@@ -127,4 +136,29 @@ public class AdminController {
         return new ResponseEntity<>(noticeService.invalidateNotice(noticeIdx), HttpStatus.OK);
     }
 
+
+    // 스케줄 작업별 마지막 실행 결과 (소요시간, 초당 처리량, 실패한 구간 수)
+    @GetMapping("/jobs")
+    @ResponseBody
+    public ResponseEntity getJobStats(@RequestParam(required = false) final String password) {
+        if(password == null || !(password.equals(ADMIN_PASSWORD)))
+            return null;
+
+        return new ResponseEntity<>(chunkedJobExecutor.getStats(), HttpStatus.OK);
+    }
+
+
+    // 공고 상세내용 캐시, 응답 캐시 현황 (적중률, 사용중인 바이트 수)
+    @GetMapping("/caches")
+    @ResponseBody
+    public ResponseEntity getCacheStats(@RequestParam(required = false) final String password) {
+        if(password == null || !(password.equals(ADMIN_PASSWORD)))
+            return null;
+
+        HashMap<String, Object> params = new HashMap<>();
+        params.put("noticeDetail", noticeDetailCache.getStats());
+        params.put("response", responseCache.getStats());
+        return new ResponseEntity<>(params, HttpStatus.OK);
+    }
+
 }
@@ -0,0 +1,30 @@
+package org.sopt.smatching.controller;
+
+import lombok.extern.slf4j.Slf4j;
+import org.sopt.smatching.service.HomeService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@Slf4j
+@RestController
+@RequestMapping("/home")
+public class HomeController {
+
+    private HomeService homeService;
+
+    public HomeController(HomeService homeService) {
+        this.homeService = homeService;
+    }
+
+
+    // 홈 화면 조회 - 전체 공고 개수, 공고 목록, 맞춤조건 현황, 읽지않은 알람 개수를 한번에 리턴
+    // 비회원도 사용하므로 @Auth 사용 불가
+    @GetMapping("")
+    public ResponseEntity getHome(@RequestHeader(value = "Authorization", required = false) String jwt,
+                                  @RequestParam(value = "request_num") final int reqNum,
+                                  @RequestParam(value = "exist_num", required = false, defaultValue = "0") final int existNum,
+                                  @RequestParam(value = "debug", required = false, defaultValue = "false") final boolean debug) {
+        return new ResponseEntity<>(homeService.getHome(jwt, reqNum, existNum, debug), HttpStatus.OK);
+    }
+}
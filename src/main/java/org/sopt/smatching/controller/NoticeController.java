@@ -1,14 +1,20 @@
 package org.sopt.smatching.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import lombok.extern.slf4j.Slf4j;
 import org.sopt.smatching.model.DefaultRes;
+import org.sopt.smatching.model.notice.ScrapState;
 import org.sopt.smatching.service.NoticeService;
+import org.sopt.smatching.utils.CatalogVersion;
+import org.sopt.smatching.utils.ResponseCache;
 import org.sopt.smatching.utils.auth.Auth;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Optional;
 
 @Slf4j
@@ -17,16 +23,25 @@ import java.util.Optional;
 public class NoticeController {
 
     private NoticeService noticeService;
+    private CatalogVersion catalogVersion;
+    private ResponseCache responseCache;
 
-    public NoticeController(NoticeService noticeService) {
+    public NoticeController(NoticeService noticeService, CatalogVersion catalogVersion, ResponseCache responseCache) {
         this.noticeService = noticeService;
+        this.catalogVersion = catalogVersion;
+        this.responseCache = responseCache;
     }
 
 
     // 지원사업 개수 조회
     @GetMapping("/count")
     public ResponseEntity getNoticeCnt(@RequestParam(value = "cond_idx") final Optional<Integer> condIdx,
-                                       @RequestHeader(value = "Client", required = false, defaultValue = "Android") final String client) {
+                                       @RequestHeader(value = "Client", required = false, defaultValue = "Android") final String client,
+                                       final WebRequest request) {
+        // 전체 개수는 공고 목록이 바뀌기 전까지 같음 - 클라가 가진 값과 같으면 304 (맞춤조건은 유저가 바꿀 수 있어서 제외)
+        if(!condIdx.isPresent() && request.checkNotModified(catalogVersion.catalogTag() + "-" + client))
+            return null;
+
         /**
          * iOS 요청에 따른 임시 방편
          */
@@ -72,17 +87,45 @@ public class NoticeController {
     public ResponseEntity getFitNoticeList(@RequestHeader(value = "Authorization", required = false) String jwt,
                                            @RequestParam(value = "request_num") final int reqNum,
                                            @RequestParam(value = "exist_num") final int existNum,
-                                           @RequestParam(value = "cond_idx") final Optional<Integer> condIdx) {
+                                           @RequestParam(value = "cond_idx") final Optional<Integer> condIdx,
+                                           @RequestHeader(value = "Accept-Encoding", required = false) final String acceptEncoding,
+                                           final WebRequest request) throws JsonProcessingException {
 
         // 맞춤 지원사업 목록 조회 - condIdx 값o
         if(condIdx.isPresent())
             return new ResponseEntity<>(noticeService.getNoticeSummaryList(jwt, reqNum, existNum, condIdx.get().intValue()), HttpStatus.OK);
 
-        // 전체 지원사업 목록 조회 - condIdx 값x
+        // 전체 지원사업 목록 조회 - condIdx 값x, 목록/조회수/스크랩 여부가 그대로면 304
+        final String eTag = noticeService.getNoticeListTag(jwt);
+        if(eTag != null && request.checkNotModified(eTag))
+            return null;
+
+        // 비회원은 모두 같은 응답이므로 직렬화/압축된 바이트를 캐시해서 그대로 보냄
+        if(jwt == null || jwt.isEmpty())
+            return responseCache.respond("list:" + reqNum + ":" + existNum + ":" + eTag, acceptEncoding,
+                    () -> noticeService.getNoticeSummaryList(null, reqNum, existNum));
+
         return new ResponseEntity<>(noticeService.getNoticeSummaryList(jwt, reqNum, existNum), HttpStatus.OK);
     }
 
 
+    // 스크랩 많은 순 지원사업 목록 조회
+    // 메소드 특성상 @Auth 사용 불가
+    @GetMapping("/popular")
+    public ResponseEntity getMostScrapedNoticeList(@RequestHeader(value = "Authorization", required = false) String jwt,
+                                                   @RequestParam(value = "request_num") final int reqNum,
+                                                   @RequestParam(value = "exist_num") final int existNum) {
+        return new ResponseEntity<>(noticeService.getMostScrapedNoticeList(jwt, reqNum, existNum), HttpStatus.OK);
+    }
+
+
+    // 최근 24시간 인기 지원사업 목록 - 조회수 많은 순으로 요청된 갯수만큼 리턴
+    @GetMapping("/trending")
+    public ResponseEntity getTrendingNoticeList(@RequestParam(value = "request_num", required = false, defaultValue = "10") final int reqNum) {
+        return new ResponseEntity<>(noticeService.getTrendingNoticeList(reqNum), HttpStatus.OK);
+    }
+
+
     // 지원사업 스크랩 조회
     @Auth
     @GetMapping("/scrap")
@@ -136,10 +179,61 @@ public class NoticeController {
     }
 
 
+    // 지원사업 스크랩 설정 - 여러번 요청해도 결과 같음
+    @Auth
+    @PutMapping("/{noticeIdx}/scrap")
+    public ResponseEntity setScrap(@RequestHeader(required = false, defaultValue = "0") int idx_variable,
+                                   @PathVariable(value = "noticeIdx") final int noticeIdx) {
+        return new ResponseEntity<>(noticeService.setScrap(idx_variable, noticeIdx), HttpStatus.OK);
+    }
+
+    // 지원사업 스크랩 해제 - 여러번 요청해도 결과 같음
+    @Auth
+    @DeleteMapping("/{noticeIdx}/scrap")
+    public ResponseEntity unsetScrap(@RequestHeader(required = false, defaultValue = "0") int idx_variable,
+                                     @PathVariable(value = "noticeIdx") final int noticeIdx) {
+        return new ResponseEntity<>(noticeService.unsetScrap(idx_variable, noticeIdx), HttpStatus.OK);
+    }
+
+
+    // 여러 지원사업 스크랩 일괄 설정/해제 - [{"noticeIdx": 1, "scrap": 1}, ...]
+    @Auth
+    @PutMapping("/scrap")
+    public ResponseEntity changeScrapAll(@RequestHeader(required = false, defaultValue = "0") int idx_variable,
+                                         @RequestBody final List<ScrapState> scrapStateList) {
+        return new ResponseEntity<>(noticeService.changeScrapAll(idx_variable, scrapStateList), HttpStatus.OK);
+    }
+
+
+    // 지원사업 목록 변경분 조회 - 클라가 목록을 저장해두고 since(지난 응답의 version) 이후 추가/삭제된 공고만 받아감
+    // 메소드 특성상 @Auth 사용 불가
+    @GetMapping("/changes")
+    public ResponseEntity getNoticeChanges(@RequestHeader(value = "Authorization", required = false) String jwt,
+                                           @RequestParam(value = "since", required = false, defaultValue = "0") final long since) {
+        return new ResponseEntity<>(noticeService.getNoticeChanges(jwt, since), HttpStatus.OK);
+    }
+
+    // 지원사업 여러개 상세조회 - 목록 화면에서 미리 받아둘때 사용 (ids=1,2,3)
+    @GetMapping("/details")
+    public ResponseEntity getNoticeDetails(@RequestParam(value = "ids") final List<Integer> noticeIdxList) {
+        return new ResponseEntity<>(noticeService.getDetails(noticeIdxList), HttpStatus.OK);
+    }
+
     // 지원사업 상세조회
     @GetMapping("/detail")
-    public ResponseEntity getNoticeDetail(@RequestParam(value = "notice_idx") final int noticeIdx) {
-        return new ResponseEntity<>(noticeService.getDetail(noticeIdx), HttpStatus.OK);
+    public ResponseEntity getNoticeDetail(@RequestParam(value = "notice_idx") final int noticeIdx,
+                                          @RequestHeader(value = "Accept-Encoding", required = false) final String acceptEncoding,
+                                          final WebRequest request) throws JsonProcessingException {
+        // 공고가 바뀌지 않았으면 304 - 있는 공고면 조회수는 그대로 올림
+        final String eTag = catalogVersion.noticeTag(noticeIdx);
+        if(request.checkNotModified(eTag)) {
+            noticeService.recordViewIfExists(noticeIdx);
+            return null;
+        }
+
+        // 직렬화/압축된 바이트를 캐시해서 그대로 보냄 - 캐시에서 보낼때도 조회수는 올림
+        return responseCache.respond("detail:" + eTag, acceptEncoding,
+                () -> noticeService.getDetail(noticeIdx), () -> noticeService.recordView(noticeIdx));
     }
 
 
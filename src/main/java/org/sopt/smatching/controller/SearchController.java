@@ -3,10 +3,12 @@ package org.sopt.smatching.controller;
 import lombok.extern.slf4j.Slf4j;
 import org.sopt.smatching.model.DefaultRes;
 import org.sopt.smatching.service.SearchService;
+import org.sopt.smatching.utils.CatalogVersion;
 import org.sopt.smatching.utils.auth.Auth;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.HashMap;
 
@@ -16,9 +18,11 @@ import java.util.HashMap;
 public class SearchController {
 
     private SearchService searchService;
+    private CatalogVersion catalogVersion;
 
-    public SearchController(SearchService searchService) {
+    public SearchController(SearchService searchService, CatalogVersion catalogVersion) {
         this.searchService = searchService;
+        this.catalogVersion = catalogVersion;
     }
 
     @GetMapping("/notices")
@@ -32,7 +36,11 @@ public class SearchController {
 
     @GetMapping("/notices/count")
     public ResponseEntity countFromEverywhere(@RequestParam(value = "query") final String query,
-                                              @RequestHeader(value = "Client", required = false, defaultValue = "Android") final String client) {
+                                              @RequestHeader(value = "Client", required = false, defaultValue = "Android") final String client,
+                                              final WebRequest request) {
+        // 검색 결과 개수는 공고 목록이 바뀌기 전까지 같음 (ETag 는 URL 마다 따로라서 검색어는 넣지 않음)
+        if(request.checkNotModified(catalogVersion.catalogTag() + "-" + client))
+            return null;
 
         /**
          * iOS 요청에 따른 임시 방편
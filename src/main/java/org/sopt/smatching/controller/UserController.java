@@ -8,11 +8,14 @@ import org.sopt.smatching.model.user.UserModifyReq;
 import org.sopt.smatching.service.CondService;
 import org.sopt.smatching.service.NoticeService;
 import org.sopt.smatching.service.UserService;
+import org.sopt.smatching.utils.ResponseMessage;
+import org.sopt.smatching.utils.StatusCode;
 import org.sopt.smatching.utils.auth.Auth;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.HashMap;
 
@@ -198,4 +201,17 @@ public class UserController {
     public ResponseEntity getUncheckedNotificationCount(@RequestHeader(required = false, defaultValue = "0") int idx_variable) {
         return new ResponseEntity<>(userService.getUncheckedNotificationCount(idx_variable), HttpStatus.OK);
     }
+
+    // 읽지않은 알람 개수와 새 알람을 SSE 로 받기 (폴링 대신 사용)
+    @Auth
+    @GetMapping("/notification/stream")
+    public ResponseEntity getNotificationStream(@RequestHeader(required = false, defaultValue = "0") int idx_variable) {
+        SseEmitter emitter = userService.openNotificationStream(idx_variable);
+
+        // 이 서버의 최대 연결 수를 넘은 경우 503 - 클라는 기존처럼 폴링
+        if(emitter == null)
+            return new ResponseEntity<>(DefaultRes.res(StatusCode.SERVICE_UNAVAILABLE, ResponseMessage.TOO_MANY_STREAMS), HttpStatus.SERVICE_UNAVAILABLE);
+
+        return new ResponseEntity<>(emitter, HttpStatus.OK);
+    }
 }
@@ -28,9 +28,11 @@ public interface CondMapper {
     Integer findAlertByUserIdx(@Param("userIdx") final int userIdx);
 
 
-    // 유저의 맞춤조건의 알람설정 일괄 변경
+    // 유저의 맞춤조건의 알람설정 일괄 변경 - 꺼져있다가 켜지는 맞춤조건은 공고 이벤트 시작점을 지금으로 옮김
+    // (MySQL 은 SET 을 왼쪽부터 적용하므로 alert 를 바꾸기 전에 시작점부터 계산)
     @Update("UPDATE cond " +
-            "SET alert = #{value} " +
+            "SET alert_noticeeventidx = IF(#{value} = 1 AND alert = 0, (SELECT IFNULL(MAX(noticeeventidx), 0) FROM notice_event), alert_noticeeventidx), " +
+            "alert = #{value} " +
             "WHERE useridx = #{userIdx}")
     int updateAlertByUserIdx(@Param("userIdx") final int userIdx, @Param("value") final int value);
 
@@ -61,8 +63,10 @@ public interface CondMapper {
 
 
     // 맞춤조건 수정 - INSERT에서 condIdx, userIdx, alert 값은 제외
+    // 알람이 켜진 맞춤조건이면 공고 이벤트 시작점을 지금으로 옮김 - 바뀐 조건으로 예전 공고 이벤트가 새로 매칭되지 않도록
     @Update("UPDATE cond " +
-            "SET condname = #{cond.condName}, location = #{cond.location}, age = #{cond.age}, period = #{cond.period}, category = #{cond.category}, field = #{cond.field}, advantage = #{cond.advantage}, busitype = #{cond.busiType} " +
+            "SET alert_noticeeventidx = IF(alert = 1, (SELECT IFNULL(MAX(noticeeventidx), 0) FROM notice_event), alert_noticeeventidx), " +
+            "condname = #{cond.condName}, location = #{cond.location}, age = #{cond.age}, period = #{cond.period}, category = #{cond.category}, field = #{cond.field}, advantage = #{cond.advantage}, busitype = #{cond.busiType} " +
             "WHERE condidx = #{condIdx} AND useridx = #{userIdx}")
     int updateByCondIdx(@Param("userIdx") final int userIdx, @Param("condIdx") final int condIdx, @Param("cond") final Cond cond);
 
@@ -79,9 +83,10 @@ public interface CondMapper {
             "WHERE condidx = #{condIdx} AND useridx = #{userIdx}")
     Integer findAlert(@Param("userIdx") final int userIdx, @Param("condIdx") final int condIdx);
 
-    // condIdx와 userIdx로 맞춤조건의 알람여부 변경
+    // condIdx와 userIdx로 맞춤조건의 알람여부 변경 - 꺼져있다가 켜지면 공고 이벤트 시작점을 지금으로 옮김 (새 맞춤조건도 여기서 켜짐)
     @Update("UPDATE cond " +
-            "SET alert = #{value} " +
+            "SET alert_noticeeventidx = IF(#{value} = 1 AND alert = 0, (SELECT IFNULL(MAX(noticeeventidx), 0) FROM notice_event), alert_noticeeventidx), " +
+            "alert = #{value} " +
             "WHERE condidx = #{condIdx} AND useridx = #{userIdx}")
     int updateAlert(@Param("userIdx") final int userIdx, @Param("condIdx") final int condIdx, @Param("value") final int value);
 
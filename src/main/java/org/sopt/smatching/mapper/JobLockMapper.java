@@ -0,0 +1,55 @@
+package org.sopt.smatching.mapper;
+
+import org.apache.ibatis.annotations.*;
+
+import java.util.Date;
+
+@Mapper
+public interface JobLockMapper {
+
+    // 락 row 최초 생성 - 이미 있으면 DuplicateKeyException
+    @Insert("INSERT INTO job_lock(jobname, holder, expires_at, token) " +
+            "VALUES(#{jobName}, #{holder}, #{expiresAt}, 1)")
+    int insert(@Param("jobName") final String jobName, @Param("holder") final String holder, @Param("expiresAt") final Date expiresAt);
+
+
+    // 내가 가진 락이면 연장, 다른 서버의 락이 만료됐으면 가져오면서 펜싱 토큰 증가
+    // (MySQL 은 SET 을 왼쪽부터 적용하므로 holder 를 바꾸기 전에 token 부터 계산)
+    @Update("UPDATE job_lock " +
+            "SET token = CASE WHEN holder = #{holder} THEN token ELSE token + 1 END, " +
+            "holder = #{holder}, expires_at = #{expiresAt} " +
+            "WHERE jobname = #{jobName} AND (holder = #{holder} OR expires_at <= #{now})")
+    int acquire(@Param("jobName") final String jobName, @Param("holder") final String holder,
+                @Param("now") final Date now, @Param("expiresAt") final Date expiresAt);
+
+
+    // 내가 가진 락의 펜싱 토큰 조회 - 락이 없으면 null
+    @Select("SELECT token " +
+            "FROM job_lock " +
+            "WHERE jobname = #{jobName} AND holder = #{holder}")
+    Long findToken(@Param("jobName") final String jobName, @Param("holder") final String holder);
+
+
+    // 현재 펜싱 토큰을 공유락으로 조회 - 트랜잭션이 끝날때까지 다른 서버가 락을 가져가면서 토큰을 바꾸지 못함
+    @Select("SELECT token " +
+            "FROM job_lock " +
+            "WHERE jobname = #{jobName} " +
+            "LOCK IN SHARE MODE")
+    Long findTokenForShare(@Param("jobName") final String jobName);
+
+
+    // 같은 토큰으로 아직 락을 갖고 있을때만 연장
+    @Update("UPDATE job_lock " +
+            "SET expires_at = #{expiresAt} " +
+            "WHERE jobname = #{jobName} AND holder = #{holder} AND token = #{token} AND expires_at >= #{now}")
+    int renew(@Param("jobName") final String jobName, @Param("holder") final String holder, @Param("token") final long token,
+              @Param("now") final Date now, @Param("expiresAt") final Date expiresAt);
+
+
+    // 락 반납 - 바로 만료시켜서 다른 서버가 가져갈 수 있게 함
+    @Update("UPDATE job_lock " +
+            "SET expires_at = #{now} " +
+            "WHERE jobname = #{jobName} AND holder = #{holder} AND token = #{token}")
+    int release(@Param("jobName") final String jobName, @Param("holder") final String holder, @Param("token") final long token,
+                @Param("now") final Date now);
+}
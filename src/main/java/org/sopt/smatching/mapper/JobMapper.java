@@ -0,0 +1,49 @@
+package org.sopt.smatching.mapper;
+
+import org.apache.ibatis.annotations.*;
+import org.sopt.smatching.model.job.JobRun;
+
+import java.util.List;
+
+@Mapper
+public interface JobMapper {
+
+    // 작업 실행 시작 기록 - 같은 runKey 로 다시 실행하는 경우엔 처음 기록한 id 구간을 그대로 사용
+    @Insert("INSERT INTO job_run(jobname, runkey, status, minidx, maxidx) " +
+            "VALUES(#{jobName}, #{runKey}, 'RUNNING', #{minIdx}, #{maxIdx}) " +
+            "ON DUPLICATE KEY UPDATE status = 'RUNNING', finished_at = NULL")
+    int startRun(@Param("jobName") final String jobName, @Param("runKey") final String runKey,
+                 @Param("minIdx") final int minIdx, @Param("maxIdx") final int maxIdx);
+
+
+    @Select("SELECT jobname, runkey, status, minidx, maxidx " +
+            "FROM job_run " +
+            "WHERE jobname = #{jobName} AND runkey = #{runKey}")
+    JobRun findRun(@Param("jobName") final String jobName, @Param("runKey") final String runKey);
+
+
+    @Update("UPDATE job_run " +
+            "SET status = #{status}, finished_at = CURRENT_TIMESTAMP " +
+            "WHERE jobname = #{jobName} AND runkey = #{runKey}")
+    int finishRun(@Param("jobName") final String jobName, @Param("runKey") final String runKey, @Param("status") final String status);
+
+
+    // 끝나지 않은 실행 조회 - 서버 재시작시 이어서 실행
+    @Select("SELECT jobname, runkey, status, minidx, maxidx " +
+            "FROM job_run " +
+            "WHERE runkey = #{runKey} AND status <> 'DONE'")
+    List<JobRun> findIncompleteRuns(@Param("runKey") final String runKey);
+
+
+    // 이미 끝난 구간들의 시작 id
+    @Select("SELECT chunkfrom " +
+            "FROM job_checkpoint " +
+            "WHERE jobname = #{jobName} AND runkey = #{runKey}")
+    List<Integer> findDoneChunks(@Param("jobName") final String jobName, @Param("runKey") final String runKey);
+
+
+    @Insert("INSERT INTO job_checkpoint(jobname, runkey, chunkfrom, chunkto, items) " +
+            "VALUES(#{jobName}, #{runKey}, #{chunkFrom}, #{chunkTo}, #{items})")
+    int saveCheckpoint(@Param("jobName") final String jobName, @Param("runKey") final String runKey,
+                       @Param("chunkFrom") final int chunkFrom, @Param("chunkTo") final int chunkTo, @Param("items") final int items);
+}
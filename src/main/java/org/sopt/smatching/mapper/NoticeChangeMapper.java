@@ -0,0 +1,44 @@
+package org.sopt.smatching.mapper;
+
+import org.apache.ibatis.annotations.*;
+import org.sopt.smatching.model.notice.NoticeChange;
+
+import java.util.List;
+
+@Mapper
+public interface NoticeChangeMapper {
+
+    // 공고 변경 로그 저장 - 여러 공고를 INSERT 한번으로
+    @Insert({"<script>",
+            "INSERT INTO notice_change(noticeidx, type) VALUES ",
+            "<foreach collection='noticeIdxList' item='noticeIdx' separator=','>(#{noticeIdx}, #{type})</foreach>",
+            "</script>"})
+    int saveAll(@Param("type") final String type, @Param("noticeIdxList") final List<Integer> noticeIdxList);
+
+
+    // since 이후의 변경 로그 - settleSec 초보다 오래된 row 는 settled = 1
+    @Select("SELECT changeidx, noticeidx, type, timestamp < NOW() - INTERVAL #{settleSec} SECOND AS settled " +
+            "FROM notice_change " +
+            "WHERE changeidx > #{since} " +
+            "ORDER BY changeidx " +
+            "LIMIT #{limit}")
+    List<NoticeChange> findSince(@Param("since") final long since, @Param("limit") final int limit, @Param("settleSec") final int settleSec);
+
+    // 남아있는 가장 오래된 changeidx (없으면 null)
+    @Select("SELECT MIN(changeidx) FROM notice_change")
+    Long findMinChangeIdx();
+
+    // 가장 최근 changeidx (없으면 null)
+    @Select("SELECT MAX(changeidx) FROM notice_change")
+    Long findMaxChangeIdx();
+
+    // settleSec 초보다 오래된 row 중 가장 최근 changeidx (없으면 0)
+    @Select("SELECT IFNULL(MAX(changeidx), 0) FROM notice_change WHERE timestamp < NOW() - INTERVAL #{settleSec} SECOND")
+    long findSettledMaxChangeIdx(@Param("settleSec") final int settleSec);
+
+
+    // retentionDays 일이 지난 로그 삭제 - keepIdx 이상은 남김
+    @Delete("DELETE FROM notice_change " +
+            "WHERE timestamp < NOW() - INTERVAL #{retentionDays} DAY AND changeidx < #{keepIdx}")
+    int deleteBefore(@Param("retentionDays") final int retentionDays, @Param("keepIdx") final long keepIdx);
+}
@@ -0,0 +1,33 @@
+package org.sopt.smatching.mapper;
+
+import org.apache.ibatis.annotations.*;
+import org.sopt.smatching.model.notification.NotificationOutput;
+import org.sopt.smatching.utils.DynamicQuery;
+
+import java.util.List;
+
+@Mapper
+public interface NoticeEventMapper {
+
+    // 새 공고 이벤트 저장 - 유저 수와 상관없이 공고 1개당 1 row (제목은 읽을때 notice 테이블에서 가져옴)
+    @Insert("INSERT INTO notice_event(noticeidx) " +
+            "VALUES(#{noticeIdx})")
+    int save(@Param("noticeIdx") final int noticeIdx);
+
+
+    // 유저의 알람이 켜진 맞춤조건과 일치하는 공고 이벤트 목록 조회 (동적쿼리 사용)
+    @SelectProvider(type = DynamicQuery.class, method = "findNoticeEventFeed")
+    List<NotificationOutput> findFeedByUserIdx(@Param("userIdx") final int userIdx);
+
+
+    // 읽지않은 공고 이벤트 개수 조회 (동적쿼리 사용)
+    @SelectProvider(type = DynamicQuery.class, method = "countUncheckedNoticeEvent")
+    int countUnchecked(@Param("userIdx") final int userIdx);
+
+
+    // 공고 이벤트 읽음 워터마크 갱신 (뒤로 가지는 않음)
+    @Update("UPDATE user " +
+            "SET last_read_noticeeventidx = #{noticeEventIdx} " +
+            "WHERE useridx = #{userIdx} AND last_read_noticeeventidx < #{noticeEventIdx}")
+    int updateReadWatermark(@Param("userIdx") final int userIdx, @Param("noticeEventIdx") final int noticeEventIdx);
+}
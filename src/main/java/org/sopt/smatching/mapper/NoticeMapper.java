@@ -1,43 +1,47 @@
 package org.sopt.smatching.mapper;
 
 import org.apache.ibatis.annotations.*;
+import org.apache.ibatis.cursor.Cursor;
 import org.sopt.smatching.model.cond.Cond;
+import org.sopt.smatching.model.job.IdRange;
 import org.sopt.smatching.model.notice.Notice;
 import org.sopt.smatching.model.notice.NoticeDetail;
 import org.sopt.smatching.model.notice.NoticeSummary;
+import org.sopt.smatching.model.notice.NoticeSummaryRow;
+import org.sopt.smatching.model.notification.ReminderTarget;
 import org.sopt.smatching.utils.DynamicQuery;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 @Mapper
 public interface NoticeMapper {
 
-    // 전체공고 개수 조회
-    @Select("SELECT COUNT(noticeidx) " +
-            "FROM notice " +
-            "WHERE valid = 1")
-    int countAllNotice();
-
-    // 전체공고 목록 조회 (비회원용, 스크랩여부 x)
-    @Select("SELECT noticeIdx, title, institution, DATEDIFF(end_date, current_date) as dday, readcnt " +
+    // 공고 목록 스냅샷용 - 활성화된 전체 공고 (최신등록순)
+    @Select("SELECT noticeidx, title, institution, end_date AS endDate, readcnt, scrapcnt " +
             "FROM notice " +
             "WHERE valid = 1 " +
-            "ORDER BY noticeIdx DESC " +
-            "LIMIT #{existNum}, #{reqNum}")
-    List<NoticeSummary> findAllNoticeSummary(@Param("reqNum") final int reqNum,
-                                             @Param("existNum") final int existNum);
+            "ORDER BY noticeidx DESC")
+    List<NoticeSummaryRow> findAllNoticeSummaryRow();
 
-    // 전체공고 목록 조회
-    @Select("SELECT notice.noticeIdx, notice.title, notice.institution, DATEDIFF(notice.end_date, current_date) as dday, scrap_notice.scrap, notice.readcnt " +
+    // 스크랩 많은 순 공고 목록 조회 (스크랩여부 x - 회원이면 ScrapCache 로 채움)
+    @Select("SELECT noticeIdx, title, institution, DATEDIFF(end_date, current_date) as dday, readcnt, scrapcnt " +
             "FROM notice " +
-            "LEFT OUTER JOIN scrap_notice " +
-            "ON notice.noticeIdx = scrap_notice.noticeIdx AND scrap_notice.useridx = #{userIdx} " +
-            "WHERE notice.valid = 1 " +
-            "ORDER BY notice.noticeIdx DESC " +
+            "WHERE valid = 1 " +
+            "ORDER BY scrapcnt DESC, noticeIdx DESC " +
             "LIMIT #{existNum}, #{reqNum}")
-    List<NoticeSummary> findAllNoticeSummaryWithScrap(@Param("reqNum") final int reqNum,
-                                                      @Param("existNum") final int existNum,
-                                                      @Param("userIdx") final int userIdx);
+    List<NoticeSummary> findMostScrapedNoticeSummary(@Param("reqNum") final int reqNum,
+                                                     @Param("existNum") final int existNum);
+
+    // 여러 공고 목록 조회 (비회원용, 스크랩여부 x) - 순서는 호출하는 쪽에서 맞춤
+    @Select({"<script>",
+            "SELECT noticeIdx, title, institution, DATEDIFF(end_date, current_date) as dday, readcnt, scrapcnt ",
+            "FROM notice ",
+            "WHERE valid = 1 AND noticeidx IN ",
+            "<foreach collection='noticeIdxList' item='noticeIdx' open='(' separator=',' close=')'>#{noticeIdx}</foreach>",
+            "</script>"})
+    List<NoticeSummary> findNoticeSummaryByIdxList(@Param("noticeIdxList") final List<Integer> noticeIdxList);
 
     // 맞춤공고 개수 조회(동적쿼리 사용)
     @SelectProvider(type = DynamicQuery.class, method = "countFitNotice")
@@ -45,16 +49,15 @@ public interface NoticeMapper {
 
 
 
-    // 맞춤공고 목록 조회(동적쿼리 사용)
-    @SelectProvider(type = DynamicQuery.class, method = "findFitNoticeSummaryWithScrap")
-    List<NoticeSummary> findFitNoticeSummaryWithScrap(@Param("reqNum") final int reqNum,
-                                                      @Param("existNum") final int existNum,
-                                                      @Param("userIdx") final int userIdx,
-                                                      @Param("cond") final Cond cond);
+    // 맞춤공고 목록 조회(동적쿼리 사용) - 스크랩 여부 x
+    @SelectProvider(type = DynamicQuery.class, method = "findFitNoticeSummary")
+    List<NoticeSummary> findFitNoticeSummary(@Param("reqNum") final int reqNum,
+                                             @Param("existNum") final int existNum,
+                                             @Param("cond") final Cond cond);
 
 
     // 유저가 스크랩 해놓은 공고 목록 조회
-    @Select("SELECT notice.noticeIdx, notice.title, notice.institution, DATEDIFF(notice.end_date, current_date) as dday, scrap_notice.scrap, notice.readcnt " +
+    @Select("SELECT notice.noticeIdx, notice.title, notice.institution, DATEDIFF(notice.end_date, current_date) as dday, scrap_notice.scrap, notice.readcnt, notice.scrapcnt " +
             "FROM scrap_notice " +
             "INNER JOIN notice " +
             "ON notice.noticeIdx = scrap_notice.noticeIdx AND notice.valid = 1 " +
@@ -73,11 +76,52 @@ public interface NoticeMapper {
             "WHERE n.noticeidx = #{noticeIdx}")
     NoticeDetail findDetailByNoticeIdx(@Param("noticeIdx") final int noticeIdx);
 
-    // 지원사업 공고 조회수 1 증가
-    @Update("UPDATE notice " +
-            "SET readcnt = readcnt+1 " +
-            "WHERE noticeidx = #{noticeIdx}")
-    void plusReadCnt(@Param("noticeIdx") final int noticeIdx);
+    // 여러 공고 상세 조회 - IN 쿼리 한번으로, 순서는 호출하는 쪽에서 맞춤
+    @Select({"<script>",
+            "SELECT n.noticeidx, n.title, n.institution, d.part, d.phone, d.origin_url, d.reg_date, d.start_date, n.end_date, d.detail_one AS summary, d.detail_two AS target, d.detail_three AS content ",
+            "FROM notice AS n ",
+            "INNER JOIN notice_detail AS d ",
+            "ON n.noticeidx = d.noticeidx ",
+            "WHERE n.noticeidx IN ",
+            "<foreach collection='noticeIdxList' item='noticeIdx' open='(' separator=',' close=')'>#{noticeIdx}</foreach>",
+            "</script>"})
+    List<NoticeDetail> findDetailByNoticeIdxList(@Param("noticeIdxList") final List<Integer> noticeIdxList);
+
+    // 지원사업 공고 조회수 증가 - 여러 공고를 UPDATE 한번으로, ReadCountBuffer 사용 (noticeIdx -> 증가분)
+    @Update({"<script>",
+            "UPDATE notice ",
+            "SET readcnt = readcnt + CASE noticeidx ",
+            "<foreach collection='deltas' index='noticeIdx' item='delta'>WHEN #{noticeIdx} THEN #{delta} </foreach>",
+            "ELSE 0 END ",
+            "WHERE noticeidx IN ",
+            "<foreach collection='deltas' index='noticeIdx' open='(' separator=',' close=')'>#{noticeIdx}</foreach>",
+            "</script>"})
+    int addReadCnt(@Param("deltas") final Map<Integer, Long> deltas);
+
+    // 여러 공고의 스크랩 수를 scrap_notice 기준으로 UPDATE 한번에 다시 셈 - ScrapCountBuffer 사용
+    // 증감분을 더하지 않고 절대값을 쓰므로 다른 서버의 반영이나 새벽 정리 작업과 겹쳐도 두번 더해지지 않음
+    @Update({"<script>",
+            "UPDATE notice AS n ",
+            "SET n.scrapcnt = (SELECT COUNT(*) FROM scrap_notice AS s WHERE s.noticeidx = n.noticeidx) ",
+            "WHERE n.noticeidx IN ",
+            "<foreach collection='noticeIdxList' item='noticeIdx' open='(' separator=',' close=')'>#{noticeIdx}</foreach>",
+            "</script>"})
+    int recountScrapCnt(@Param("noticeIdxList") final List<Integer> noticeIdxList);
+
+    // 여러 공고의 현재 스크랩 수 - ScrapCountBuffer 가 다시 센 값을 스냅샷에 반영할때 사용
+    @Select({"<script>",
+            "SELECT noticeidx, scrapcnt ",
+            "FROM notice ",
+            "WHERE noticeidx IN ",
+            "<foreach collection='noticeIdxList' item='noticeIdx' open='(' separator=',' close=')'>#{noticeIdx}</foreach>",
+            "</script>"})
+    List<NoticeSummaryRow> findScrapCntByIdxList(@Param("noticeIdxList") final List<Integer> noticeIdxList);
+
+    // 스케줄러용 - noticeIdx 구간 안 공고들의 스크랩 수를 scrap_notice 기준으로 다시 맞춤
+    @Update("UPDATE notice AS n " +
+            "SET n.scrapcnt = (SELECT COUNT(*) FROM scrap_notice AS s WHERE s.noticeidx = n.noticeidx) " +
+            "WHERE n.noticeidx BETWEEN #{fromIdx} AND #{toIdx} AND n.valid = 1")
+    int reconcileScrapCnt(@Param("fromIdx") final int fromIdx, @Param("toIdx") final int toIdx);
 
 
 
@@ -124,19 +168,78 @@ public interface NoticeMapper {
     Notice getNoticeAdmin(@Param("noticeIdx") int noticeIdx);
 
 
-    // 스케줄러용 - 만료된 공고(dday < 0)의 noticeIdx 가져오기
+    // 스케줄러용 - 만료된 공고(dday < 0)의 noticeIdx 가져오기 (end_date 에 함수를 씌우지 않아야 인덱스를 탐)
     @Select("SELECT noticeidx " +
             "FROM notice " +
-            "WHERE DATEDIFF(end_date, CURRENT_DATE) < 0 " +
-            "AND valid = 1")
+            "WHERE valid = 1 " +
+            "AND end_date < CURRENT_DATE " +
+            "ORDER BY noticeidx ASC")
     List<Integer> getExpiredNotice();
 
 
-    // 스케줄러용 - 만료된 공고(dday < 0)의 noticeIdx 가져오기
+    // 스케줄러용 - 구간 실행기가 나눌 활성화된 공고의 noticeIdx 범위
+    @Select("SELECT MIN(noticeidx) AS minIdx, MAX(noticeidx) AS maxIdx " +
+            "FROM notice " +
+            "WHERE valid = 1")
+    IdRange findValidNoticeIdxRange();
+
+
+    // 스케줄러용 - noticeIdx 구간 안의 만료된 공고
     @Select("SELECT noticeidx " +
             "FROM notice " +
-            "WHERE DATEDIFF(end_date, CURRENT_DATE) = 3 " +
-            "AND valid = 1")
-    List<Integer> getThreeDaysLeftNotice();
+            "WHERE noticeidx BETWEEN #{fromIdx} AND #{toIdx} " +
+            "AND valid = 1 " +
+            "AND end_date < CURRENT_DATE")
+    List<Integer> getExpiredNoticeInRange(@Param("fromIdx") final int fromIdx, @Param("toIdx") final int toIdx);
+
+
+    // 스케줄러용 - 여러 공고를 UPDATE 한번으로 비활성화
+    @Update({"<script>",
+            "UPDATE notice ",
+            "SET valid = 0 ",
+            "WHERE valid = 1 AND noticeidx IN ",
+            "<foreach collection='noticeIdxList' item='noticeIdx' open='(' separator=',' close=')'>#{noticeIdx}</foreach>",
+            "</script>"})
+    int invalidateAll(@Param("noticeIdxList") final List<Integer> noticeIdxList);
+
 
+    // 스케줄러용 - D-Day가 3 인 공고와 그 공고를 스크랩한 유저 쌍을 한번에 스트리밍으로 조회
+    // fetchSize = Integer.MIN_VALUE : MySQL 드라이버가 결과를 한번에 메모리에 올리지 않고 row 단위로 읽게 함
+    @Select("SELECT n.noticeidx, n.title, n.end_date AS endDate, s.useridx " +
+            "FROM notice AS n " +
+            "INNER JOIN scrap_notice AS s " +
+            "ON s.noticeidx = n.noticeidx " +
+            "WHERE n.valid = 1 " +
+            "AND n.end_date = DATE_ADD(CURRENT_DATE, INTERVAL 3 DAY) " +
+            "ORDER BY n.noticeidx ASC")
+    @Options(fetchSize = Integer.MIN_VALUE)
+    Cursor<ReminderTarget> findD_3ReminderTargets();
+
+
+    // 스케줄러용 - findD_3ReminderTargets 와 같지만 noticeIdx 구간 하나만 (구간 실행기용)
+    @Select("SELECT n.noticeidx, n.title, n.end_date AS endDate, s.useridx " +
+            "FROM notice AS n " +
+            "INNER JOIN scrap_notice AS s " +
+            "ON s.noticeidx = n.noticeidx " +
+            "WHERE n.noticeidx BETWEEN #{fromIdx} AND #{toIdx} " +
+            "AND n.valid = 1 " +
+            "AND n.end_date = DATE_ADD(CURRENT_DATE, INTERVAL 3 DAY) " +
+            "ORDER BY n.noticeidx ASC")
+    @Options(fetchSize = Integer.MIN_VALUE)
+    Cursor<ReminderTarget> findD_3ReminderTargetsInRange(@Param("fromIdx") final int fromIdx, @Param("toIdx") final int toIdx);
+
+
+    // 마감 스케줄러용 - 마감일이 endDate 인 공고와 그 공고를 스크랩한 유저 쌍 중 아직 alertType 알람이 저장되지 않은 것만 스트리밍으로 조회
+    // (NOT EXISTS 는 notification 의 (noticeidx, useridx, alerttype) 유니크 키로 찾음)
+    @Select("SELECT n.noticeidx, n.title, n.end_date AS endDate, s.useridx " +
+            "FROM notice AS n " +
+            "INNER JOIN scrap_notice AS s " +
+            "ON s.noticeidx = n.noticeidx " +
+            "WHERE n.valid = 1 " +
+            "AND n.end_date = #{endDate} " +
+            "AND NOT EXISTS (SELECT 1 FROM notification AS t " +
+            "WHERE t.noticeidx = n.noticeidx AND t.useridx = s.useridx AND t.alerttype = #{alertType}) " +
+            "ORDER BY n.noticeidx ASC")
+    @Options(fetchSize = Integer.MIN_VALUE)
+    Cursor<ReminderTarget> findUnsentReminderTargets(@Param("endDate") final LocalDate endDate, @Param("alertType") final String alertType);
 }
@@ -0,0 +1,31 @@
+package org.sopt.smatching.mapper;
+
+import org.apache.ibatis.annotations.*;
+import org.sopt.smatching.model.notice.NoticeViewBucket;
+
+import java.util.List;
+
+@Mapper
+public interface NoticeViewMapper {
+
+    // 시간 단위 조회수 증가분 저장 - 같은 공고, 같은 시간 row 가 있으면 더함
+    @Insert({"<script>",
+            "INSERT INTO notice_view_bucket(noticeidx, bucket_hour, cnt) VALUES ",
+            "<foreach collection='bucketList' item='b' separator=','>(#{b.noticeIdx}, #{b.bucketHour}, #{b.cnt})</foreach>",
+            " ON DUPLICATE KEY UPDATE cnt = cnt + VALUES(cnt)",
+            "</script>"})
+    int saveAll(@Param("bucketList") final List<NoticeViewBucket> bucketList);
+
+
+    // 서버 시작시 최근 조회수 복구
+    @Select("SELECT noticeidx, bucket_hour AS bucketHour, cnt " +
+            "FROM notice_view_bucket " +
+            "WHERE bucket_hour >= #{fromHour}")
+    List<NoticeViewBucket> findSince(@Param("fromHour") final int fromHour);
+
+
+    // 더이상 쓰지 않는 오래된 row 삭제
+    @Delete("DELETE FROM notice_view_bucket " +
+            "WHERE bucket_hour < #{beforeHour}")
+    int deleteBefore(@Param("beforeHour") final int beforeHour);
+}
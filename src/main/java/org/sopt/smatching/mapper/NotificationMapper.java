@@ -10,30 +10,63 @@ import java.util.List;
 public interface NotificationMapper {
 
     // 새로운 알람 생성
-    @Insert("INSERT INTO notification(useridx, noticeidx, alerttype, message) " +
-            "VALUES(#{notification.userIdx}, #{notification.noticeIdx}, #{notification.alertType}, #{notification.message})")
+    @Insert("INSERT INTO notification(useridx, noticeidx, alerttype, message, noticeidxs) " +
+            "VALUES(#{notification.userIdx}, #{notification.noticeIdx}, #{notification.alertType}, #{notification.message}, #{notification.noticeIdxs})")
     @Options(useGeneratedKeys = true, keyProperty = "notification.notificationIdx")
     int save(@Param("notification") final Notification notification);
 
 
-    // 유저의 모든 알람 내역 가져오기
-    @Select("SELECT noticeidx, timestamp AS outputTime, alerttype, message, checked " +
-            "FROM notification " +
-            "WHERE useridx = #{userIdx} " +
-            "ORDER BY notificationidx DESC")
+    // 여러 알람을 INSERT 한번으로 생성 - 이미 있는 (공고, 유저, 알람 종류) 알람은 건너뜀 (리마인더 작업을 다시 실행해도 중복 없음)
+    @Insert({"<script>",
+            "INSERT IGNORE INTO notification(useridx, noticeidx, alerttype, message, noticeidxs) VALUES ",
+            "<foreach collection='notificationList' item='n' separator=','>",
+            "(#{n.userIdx}, #{n.noticeIdx}, #{n.alertType}, #{n.message}, #{n.noticeIdxs})",
+            "</foreach>",
+            "</script>"})
+    int saveAll(@Param("notificationList") final List<Notification> notificationList);
+
+
+    // 유저의 모든 알람 내역 가져오기 - 읽음 여부는 user 테이블의 읽음 워터마크와 비교해서 계산
+    @Select("SELECT n.notificationidx, n.noticeidx, UNIX_TIMESTAMP(n.timestamp) * 1000 AS createdAt, n.alerttype, n.message, n.noticeidxs, " +
+            "IF(n.notificationidx > u.last_read_notificationidx, 0, 1) AS checked " +
+            "FROM notification AS n " +
+            "INNER JOIN user AS u " +
+            "ON u.useridx = n.useridx " +
+            "WHERE n.useridx = #{userIdx} " +
+            "ORDER BY n.notificationidx DESC")
     List<NotificationOutput> findAllByUserIdx(@Param("userIdx") final int userIdx);
 
 
-    // 사용자의 모든 알람을 읽은 상태로 변경
-    @Update("UPDATE notification " +
-            "SET checked = 1 " +
-            "WHERE useridx = #{userIdx} AND checked = 0")
-    void changeToRead(@Param("userIdx") final int userIdx);
+    // 사용자의 모든 알람을 읽은 상태로 변경 - 알람 row 들은 건드리지 않고 워터마크 1개만 갱신 (뒤로 가지는 않음)
+    @Update("UPDATE user " +
+            "SET last_read_notificationidx = #{notificationIdx} " +
+            "WHERE useridx = #{userIdx} AND last_read_notificationidx < #{notificationIdx}")
+    int updateReadWatermark(@Param("userIdx") final int userIdx, @Param("notificationIdx") final int notificationIdx);
 
 
-    // 읽지않은 사용자 알람 개수 조회
-    @Select("SELECT COUNT(notificationidx) " +
-            "FROM notification " +
-            "WHERE useridx = #{userIdx} AND checked = 0")
+    // 읽지않은 사용자 알람 개수 조회 - 워터마크보다 큰 notificationIdx 의 개수
+    @Select("SELECT COUNT(n.notificationidx) " +
+            "FROM notification AS n " +
+            "INNER JOIN user AS u " +
+            "ON u.useridx = n.useridx " +
+            "WHERE n.useridx = #{userIdx} AND n.notificationidx > u.last_read_notificationidx")
     int countUnchecked(@Param("userIdx") final int userIdx);
+
+
+    // 마이그레이션용 - 워터마크를 채워야 할 userIdx 의 최대값
+    @Select("SELECT COALESCE(MAX(useridx), 0) " +
+            "FROM user")
+    int findMaxUserIdx();
+
+
+    // 마이그레이션용 - 기존 checked 플래그로부터 [fromUserIdx, toUserIdx] 구간 유저들의 워터마크 채우기
+    // 안 읽은 알람이 있으면 가장 오래된 안 읽은 알람 직전까지, 없으면 가장 최근 알람까지 읽은 것으로 처리
+    // 워터마크는 뒤로 가지 않음 - 운영 중에 다시 실행해도 그 사이에 유저가 읽은 상태를 되돌리지 않음 (전환 후에는 checked 가 갱신되지 않음)
+    @Update("UPDATE user AS u " +
+            "SET u.last_read_notificationidx = GREATEST(u.last_read_notificationidx, COALESCE(" +
+            "(SELECT MIN(n.notificationidx) - 1 FROM notification AS n WHERE n.useridx = u.useridx AND n.checked = 0), " +
+            "(SELECT MAX(n.notificationidx) FROM notification AS n WHERE n.useridx = u.useridx), " +
+            "0)) " +
+            "WHERE u.useridx BETWEEN #{fromUserIdx} AND #{toUserIdx}")
+    int backfillReadWatermark(@Param("fromUserIdx") final int fromUserIdx, @Param("toUserIdx") final int toUserIdx);
 }
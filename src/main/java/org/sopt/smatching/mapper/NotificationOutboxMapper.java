@@ -0,0 +1,33 @@
+package org.sopt.smatching.mapper;
+
+import org.apache.ibatis.annotations.*;
+import org.sopt.smatching.model.notification.OutboxNotification;
+
+import java.util.List;
+
+@Mapper
+public interface NotificationOutboxMapper {
+
+    // 새 공고 알람을 받을 유저들을 INSERT 한번으로 저장 - 공고 저장 트랜잭션 안에서 실행
+    @Insert({"<script>",
+            "INSERT IGNORE INTO notification_outbox(useridx, noticeidx, title) VALUES ",
+            "<foreach collection='userIdxList' item='userIdx' separator=','>(#{userIdx}, #{noticeIdx}, #{title})</foreach>",
+            "</script>"})
+    int saveAll(@Param("userIdxList") final int[] userIdxList, @Param("noticeIdx") final int noticeIdx, @Param("title") final String title);
+
+    // 묶음 알람으로 저장한 row 삭제 - 지운 개수가 모자라면 다른 서버가 이미 저장한 것
+    @Delete({"<script>",
+            "DELETE FROM notification_outbox ",
+            "WHERE useridx = #{userIdx} AND noticeidx IN ",
+            "<foreach collection='noticeIdxList' item='noticeIdx' open='(' separator=',' close=')'>#{noticeIdx}</foreach>",
+            "</script>"})
+    int deleteAll(@Param("userIdx") final int userIdx, @Param("noticeIdxList") final List<Integer> noticeIdxList);
+
+    // staleSec 초보다 오래 남아있는 row - 저장하기 전에 서버가 죽은 알람
+    @Select("SELECT useridx, noticeidx, title " +
+            "FROM notification_outbox " +
+            "WHERE timestamp < NOW() - INTERVAL #{staleSec} SECOND " +
+            "ORDER BY useridx, noticeidx " +
+            "LIMIT #{limit}")
+    List<OutboxNotification> findStale(@Param("staleSec") final int staleSec, @Param("limit") final int limit);
+}
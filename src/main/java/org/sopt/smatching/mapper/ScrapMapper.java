@@ -2,6 +2,8 @@ package org.sopt.smatching.mapper;
 
 import org.apache.ibatis.annotations.*;
 
+import java.util.List;
+
 @Mapper
 public interface ScrapMapper {
 
@@ -13,6 +15,12 @@ public interface ScrapMapper {
     @Insert("INSERT INTO scrap_notice (useridx, noticeidx) VALUES(#{userIdx}, #{noticeIdx})")
     int insertScrap(@Param("userIdx") final int userIdx, @Param("noticeIdx") final int noticeIdx);
 
+    // 스크랩 설정 - 이미 있거나 없는 공고면 무시 (rowCnt 0)
+    // scrap_notice 에는 외래키가 없어서 notice 에 있는 noticeIdx 일때만 INSERT
+    @Insert("INSERT IGNORE INTO scrap_notice (useridx, noticeidx) " +
+            "SELECT #{userIdx}, noticeidx FROM notice WHERE noticeidx = #{noticeIdx}")
+    int saveScrap(@Param("userIdx") final int userIdx, @Param("noticeIdx") final int noticeIdx);
+
     // 스크랩 Row 삭제
     @Delete("DELETE FROM scrap_notice WHERE useridx = #{userIdx} AND noticeidx = #{noticeIdx}")
     int deleteScrap(@Param("userIdx") final int userIdx, @Param("noticeIdx") final int noticeIdx);
@@ -23,4 +31,39 @@ public interface ScrapMapper {
             "FROM scrap_notice " +
             "WHERE noticeidx = #{noticeIdx}")
     int[] findScrapedUserByNoticeIdx(@Param("noticeIdx") final int noticeIdx);
+
+
+    // 유저가 스크랩한 공고들의 noticeIdx (오름차순) - ScrapCache 사용
+    @Select("SELECT noticeidx " +
+            "FROM scrap_notice " +
+            "WHERE useridx = #{userIdx} " +
+            "ORDER BY noticeidx ASC")
+    int[] findScrapedNoticeIdxByUserIdx(@Param("userIdx") final int userIdx);
+
+
+    // 일괄 스크랩용 - 요청된 공고들 중 이미 스크랩된 noticeIdx (트랜잭션 끝날때까지 다른 요청이 바꾸지 못하게 잠금)
+    @Select({"<script>",
+            "SELECT noticeidx ",
+            "FROM scrap_notice ",
+            "WHERE useridx = #{userIdx} AND noticeidx IN ",
+            "<foreach collection='noticeIdxList' item='noticeIdx' open='(' separator=',' close=')'>#{noticeIdx}</foreach>",
+            "FOR UPDATE",
+            "</script>"})
+    List<Integer> findScrapedNoticeIdxIn(@Param("userIdx") final int userIdx, @Param("noticeIdxList") final List<Integer> noticeIdxList);
+
+    // 일괄 스크랩 설정 - 이미 있는 row 와 없는 공고는 무시 (saveScrap 과 같이 notice 에 있는 noticeIdx 만 INSERT)
+    @Insert({"<script>",
+            "INSERT IGNORE INTO scrap_notice (useridx, noticeidx) ",
+            "SELECT #{userIdx}, noticeidx FROM notice WHERE noticeidx IN ",
+            "<foreach collection='noticeIdxList' item='noticeIdx' open='(' separator=',' close=')'>#{noticeIdx}</foreach>",
+            "</script>"})
+    int saveScrapAll(@Param("userIdx") final int userIdx, @Param("noticeIdxList") final List<Integer> noticeIdxList);
+
+    // 일괄 스크랩 해제
+    @Delete({"<script>",
+            "DELETE FROM scrap_notice ",
+            "WHERE useridx = #{userIdx} AND noticeidx IN ",
+            "<foreach collection='noticeIdxList' item='noticeIdx' open='(' separator=',' close=')'>#{noticeIdx}</foreach>",
+            "</script>"})
+    int deleteScrapAll(@Param("userIdx") final int userIdx, @Param("noticeIdxList") final List<Integer> noticeIdxList);
 }
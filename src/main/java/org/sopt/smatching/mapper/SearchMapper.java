@@ -8,31 +8,8 @@ import java.util.List;
 @Mapper
 public interface SearchMapper {
 
-    // 회원이 전체 지원사업 검색 - scrap 값 포함
-    @Select("SELECT n.noticeidx, n.title, n.institution, DATEDIFF(n.end_date, current_date) as dday, n.readcnt, s.scrap " +
-            "FROM notice AS n " +
-            "INNER JOIN notice_detail AS d " +
-            "ON n.noticeidx = d.noticeidx " +
-            "LEFT OUTER JOIN scrap_notice AS s " +
-            "ON s.useridx = #{userIdx} AND n.noticeidx = s.noticeidx " +
-            "WHERE n.valid = 1 AND " +
-            "(n.title LIKE CONCAT('%', #{query}, '%') " +
-            "OR n.institution LIKE CONCAT('%', #{query}, '%') " +
-            "OR d.part LIKE CONCAT('%', #{query}, '%') " +
-            "OR d.phone LIKE CONCAT('%', #{query}, '%') " +
-            "OR d.detail_one LIKE CONCAT('%', #{query}, '%') " +
-            "OR d.detail_two LIKE CONCAT('%', #{query}, '%') " +
-            "OR d.detail_three LIKE CONCAT('%', #{query}, '%')) " +
-            "ORDER BY n.noticeidx DESC " +
-            "LIMIT #{existNum}, #{reqNum}")
-    List<NoticeSummary> noticeFromEverywhereIncScrap(@Param("userIdx") final int userIdx,
-                                                     @Param("query") final String query,
-                                                     @Param("reqNum") final int reqNum,
-                                                     @Param("existNum") final int existNum);
-
-
-    // 비회원이 전체 지원사업 검색 - scarp 은 무조건 0 으로 채워짐
-    @Select("SELECT n.noticeidx, n.title, n.institution, DATEDIFF(n.end_date, current_date) as dday, n.readcnt " +
+    // 전체 지원사업 검색 - scrap 은 0 으로 채워지고, 회원이면 ScrapCache 로 채움
+    @Select("SELECT n.noticeidx, n.title, n.institution, DATEDIFF(n.end_date, current_date) as dday, n.readcnt, n.scrapcnt " +
             "FROM notice AS n " +
             "INNER JOIN notice_detail AS d " +
             "ON n.noticeidx = d.noticeidx " +
@@ -118,7 +95,7 @@ public interface SearchMapper {
 
 
     // 맞춤지원 스크랩에서 검색
-    @Select("SELECT n.noticeidx, n.title, n.institution, DATEDIFF(n.end_date, current_date) as dday, n.readcnt, s.scrap " +
+    @Select("SELECT n.noticeidx, n.title, n.institution, DATEDIFF(n.end_date, current_date) as dday, n.readcnt, n.scrapcnt, s.scrap " +
             "FROM notice AS n " +
             "INNER JOIN notice_detail AS d " +
             "ON n.noticeidx = d.noticeidx " +
@@ -0,0 +1,15 @@
+package org.sopt.smatching.model.job;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// 작업 대상 id 구간 - 대상이 없으면 둘 다 null
+@Getter
+@Setter
+@NoArgsConstructor
+public class IdRange {
+
+    private Integer minIdx;
+    private Integer maxIdx;
+}
@@ -0,0 +1,17 @@
+package org.sopt.smatching.model.job;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class JobRun {
+
+    private String jobName;
+    private String runKey;
+    private String status;
+    private int minIdx;
+    private int maxIdx;
+}
@@ -0,0 +1,27 @@
+package org.sopt.smatching.model.job;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// 스케줄 작업 1회 실행 결과 - 관리자 페이지에서 조회
+@Getter
+@Setter
+@NoArgsConstructor
+public class JobStats {
+
+    private String jobName;
+    private String runKey;
+    private String status;
+    private long startedAt;
+    private long durationMs;
+    private long items;
+    private int chunks;
+    private int skippedChunks; // 이전 실행에서 이미 끝나서 건너뛴 구간
+    private int failedChunks;
+    private long totalFailedChunks; // 서버 시작 이후 누적
+
+    public double getItemsPerSec() {
+        return durationMs == 0 ? 0 : items * 1000.0 / durationMs;
+    }
+}
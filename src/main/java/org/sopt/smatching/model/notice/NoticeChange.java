@@ -0,0 +1,17 @@
+package org.sopt.smatching.model.notice;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// notice_change 테이블의 row 1개 - settled 는 충분히 오래되어 앞 번호가 더 생길 수 없는 row 인지 여부
+@Getter
+@Setter
+@NoArgsConstructor
+public class NoticeChange {
+
+    private long changeIdx;
+    private int noticeIdx;
+    private String type;
+    private boolean settled;
+}
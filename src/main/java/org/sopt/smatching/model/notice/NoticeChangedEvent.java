@@ -0,0 +1,29 @@
+package org.sopt.smatching.model.notice;
+
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.List;
+
+// 지원사업 공고 목록(카탈로그)이 바뀌었을때 발행하는 이벤트 - 캐시들은 이 이벤트 1번에 한번씩만 갱신
+@Getter
+public class NoticeChangedEvent {
+
+    public enum Type {
+        ADDED,       // 관리자가 새 공고 추가
+        INVALIDATED, // 관리자가 공고 비활성화
+        EXPIRED      // 스케줄러가 마감된 공고 비활성화
+    }
+
+    private final Type type;
+    private final List<Integer> noticeIdxList;
+
+    public NoticeChangedEvent(Type type, List<Integer> noticeIdxList) {
+        this.type = type;
+        this.noticeIdxList = noticeIdxList;
+    }
+
+    public NoticeChangedEvent(Type type, int noticeIdx) {
+        this(type, Collections.singletonList(noticeIdx));
+    }
+}
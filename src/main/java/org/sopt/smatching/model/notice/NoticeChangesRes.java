@@ -0,0 +1,32 @@
+package org.sopt.smatching.model.notice;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class NoticeChangesRes {
+
+    // 다음 요청의 since 로 보낼 값
+    private long version;
+
+    // true 면 since 가 너무 오래되었거나 0 이라서 변경분을 줄 수 없음 - /notices/list 로 처음부터 다시 받아야 함
+    private boolean reset;
+
+    // true 면 변경분이 더 있음 - 바로 version 으로 다시 요청
+    private boolean hasMore;
+
+    // 추가된 공고 (현재 값), 삭제된 공고의 noticeIdx
+    private List<NoticeSummary> noticeSummaryList = new ArrayList<>();
+    private List<Integer> deletedNoticeIdxList = new ArrayList<>();
+
+    public NoticeChangesRes(long version, boolean reset) {
+        this.version = version;
+        this.reset = reset;
+    }
+}
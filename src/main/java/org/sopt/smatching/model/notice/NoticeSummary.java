@@ -15,4 +15,5 @@ public class NoticeSummary {
     private int dday;
     private int scrap;
     private int readCnt;
+    private int scrapCnt;
 }
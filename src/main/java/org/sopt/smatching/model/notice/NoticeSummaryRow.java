@@ -0,0 +1,21 @@
+package org.sopt.smatching.model.notice;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+// 공고 목록 스냅샷을 만들때 읽는 row - dday 대신 마감일을 그대로 읽어서 응답할때 계산
+@Getter
+@Setter
+@NoArgsConstructor
+public class NoticeSummaryRow {
+
+    private int noticeIdx;
+    private String title;
+    private String institution;
+    private LocalDate endDate;
+    private int readCnt;
+    private int scrapCnt;
+}
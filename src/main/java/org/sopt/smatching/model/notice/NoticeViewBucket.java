@@ -0,0 +1,22 @@
+package org.sopt.smatching.model.notice;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// 공고 1개의 1시간 동안의 조회수
+@Getter
+@Setter
+@NoArgsConstructor
+public class NoticeViewBucket {
+
+    private int noticeIdx;
+    private int bucketHour; // epoch 기준 시간 번호
+    private long cnt;
+
+    public NoticeViewBucket(int noticeIdx, int bucketHour, long cnt) {
+        this.noticeIdx = noticeIdx;
+        this.bucketHour = bucketHour;
+        this.cnt = cnt;
+    }
+}
@@ -0,0 +1,20 @@
+package org.sopt.smatching.model.notice;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// 공고 1개의 스크랩 여부 - 일괄 스크랩 설정/해제의 요청과 응답에 사용 (scrap : 1 설정, 0 해제)
+@Getter
+@Setter
+@NoArgsConstructor
+public class ScrapState {
+
+    private int noticeIdx;
+    private int scrap;
+
+    public ScrapState(int noticeIdx, int scrap) {
+        this.noticeIdx = noticeIdx;
+        this.scrap = scrap;
+    }
+}
@@ -3,7 +3,8 @@ package org.sopt.smatching.model.notification;
 public enum AlertType {
 
     NewNotice(1),
-    ThreeDaysLeft(2);
+    ThreeDaysLeft(2),
+    NewNoticeDigest(3);
 
     private final int value;
 
@@ -19,6 +20,7 @@ public enum AlertType {
         switch(value) {
             case 1: return AlertType.NewNotice;
             case 2: return AlertType.ThreeDaysLeft;
+            case 3: return AlertType.NewNoticeDigest;
             default: throw new AssertionError("Unknown AlertType : " + value);
         }
     }
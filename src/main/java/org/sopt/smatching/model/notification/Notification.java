@@ -14,6 +14,7 @@ public class Notification {
     private int noticeIdx;
     private String alertType;
     private String message;
+    private String noticeIdxs; // 묶음 알람(NewNoticeDigest)에 포함된 공고들의 noticeIdx, 콤마로 구분
 
     public Notification(int userIdx, int noticeIdx, String alertType, String message) {
         this.userIdx = userIdx;
@@ -22,4 +23,9 @@ public class Notification {
         this.message = message;
     }
 
+    public Notification(int userIdx, int noticeIdx, String alertType, String message, String noticeIdxs) {
+        this(userIdx, noticeIdx, alertType, message);
+        this.noticeIdxs = noticeIdxs;
+    }
+
 }
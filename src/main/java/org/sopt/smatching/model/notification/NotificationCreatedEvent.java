@@ -0,0 +1,24 @@
+package org.sopt.smatching.model.notification;
+
+import lombok.Getter;
+
+// 알람이 새로 만들어졌을때 발행하는 이벤트 - 연결된 유저들에게 SSE 로 전달하는데 사용
+@Getter
+public class NotificationCreatedEvent {
+
+    private final int[] userIdxList;
+    private final int noticeIdx;
+    private final String alertType;
+    private final String message;
+
+    public NotificationCreatedEvent(int[] userIdxList, int noticeIdx, String alertType, String message) {
+        this.userIdxList = userIdxList;
+        this.noticeIdx = noticeIdx;
+        this.alertType = alertType;
+        this.message = message;
+    }
+
+    public NotificationCreatedEvent(Notification notification) {
+        this(new int[] { notification.getUserIdx() }, notification.getNoticeIdx(), notification.getAlertType(), notification.getMessage());
+    }
+}
@@ -1,56 +1,69 @@
 package org.sopt.smatching.model.notification;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
 
 @Getter
 @Setter
 @NoArgsConstructor
 public class NotificationOutput {
 
+    // 하루 이상 지난 알람의 출력 형식 - 스레드 안전해서 모든 요청이 공유
+    private static final DateTimeFormatter OLD_FORMAT = DateTimeFormatter.ofPattern("MM/dd HH:mm").withZone(ZoneId.systemDefault());
+
+    @JsonIgnore // 읽음 워터마크 갱신용, 응답에는 포함하지 않음
+    private int notificationIdx;
+    @JsonIgnore // 알람 생성시간 (epoch millis) - 매퍼에서 UNIX_TIMESTAMP 로 바로 받음, 응답에는 outputTime 만 포함
+    private long createdAt;
+
     private int noticeIdx;
     private String alertType;
     private String message;
     private boolean checked;
     private String outputTime;
+    @JsonIgnore // 묶음 알람의 noticeIdx 들 (콤마 구분) - 응답에는 noticeIdxList 로 포함
+    private String noticeIdxs;
 
 
 
-    public void writeOutputTime() {
-        if(this.outputTime == null)
-            this.outputTime = "알 수 없음";
+    // 묶음 알람(NewNoticeDigest)이 가리키는 공고들, 일반 알람이면 null
+    public List<Integer> getNoticeIdxList() {
+        if(this.noticeIdxs == null || this.noticeIdxs.isEmpty())
+            return null;
+
+        List<Integer> list = new ArrayList<>();
+        for(String noticeIdx : this.noticeIdxs.split(","))
+            list.add(Integer.parseInt(noticeIdx));
+        return list;
+    }
 
-        else {
-            try {
-                SimpleDateFormat dt = new SimpleDateFormat("yyyy-mm-dd hh:mm:ss");
-                Date timestamp = dt.parse(this.outputTime);
-
-                long diff = new Date().getTime() - (timestamp.getTime());
-                int diffSec = (int) (diff / 1000L);
-                int diffMin = diffSec / 60;
-                int diffHour = diffMin / 60;
-
-                String output;
-                if(diffHour < 24) {
-                    output = diffHour + "시간 전";
-                    if(diffMin < 60) {
-                        output = diffMin + "분 전";
-                        if(diffSec < 60)
-                            output = diffSec + "초 전";
-                    }
-                }
-                else
-                    output = new SimpleDateFormat("MM/dd HH:mm").format(timestamp);
-
-                this.outputTime = output;
-
-            } catch(Exception e) {
-                e.printStackTrace();
-            }
+
+    // now : 요청 1번에 한번만 구한 현재시간 (epoch millis)
+    public void writeOutputTime(final long now) {
+        if(this.createdAt <= 0) {
+            this.outputTime = "알 수 없음";
+            return;
         }
+
+        final long diffSec = (now - this.createdAt) / 1000L;
+        final long diffMin = diffSec / 60;
+        final long diffHour = diffMin / 60;
+
+        if(diffSec < 60)
+            this.outputTime = Math.max(diffSec, 0) + "초 전";
+        else if(diffMin < 60)
+            this.outputTime = diffMin + "분 전";
+        else if(diffHour < 24)
+            this.outputTime = diffHour + "시간 전";
+        else
+            this.outputTime = OLD_FORMAT.format(Instant.ofEpochMilli(this.createdAt));
     }
 }
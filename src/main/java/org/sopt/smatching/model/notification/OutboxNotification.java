@@ -0,0 +1,16 @@
+package org.sopt.smatching.model.notification;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// 아직 묶음 알람으로 저장되지 않은 (유저, 공고) 한 쌍 - notification_outbox 의 row
+@Getter
+@Setter
+@NoArgsConstructor
+public class OutboxNotification {
+
+    private int userIdx;
+    private int noticeIdx;
+    private String title;
+}
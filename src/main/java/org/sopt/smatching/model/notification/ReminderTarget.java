@@ -0,0 +1,19 @@
+package org.sopt.smatching.model.notification;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+// 리마인더 알람을 받을 (공고, 유저) 한 쌍 - 공고 제목은 알람 메시지로, 마감일은 전송 우선순위로 사용
+@Getter
+@Setter
+@NoArgsConstructor
+public class ReminderTarget {
+
+    private int noticeIdx;
+    private String title;
+    private LocalDate endDate;
+    private int userIdx;
+}
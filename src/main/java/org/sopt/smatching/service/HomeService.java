@@ -0,0 +1,127 @@
+package org.sopt.smatching.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.sopt.smatching.model.DefaultRes;
+import org.sopt.smatching.utils.ResponseMessage;
+import org.sopt.smatching.utils.StatusCode;
+import org.sopt.smatching.utils.auth.AuthAspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 앱 실행시 홈 화면에 필요한 값들을 한번에 조회
+ * (전체 공고 개수, 공고 목록, 유저의 맞춤조건 현황, 읽지않은 알람 개수 - 원래 4번 따로 요청하던 것)
+ * 토큰은 한번만 해독하고, 각 조회는 기존 서비스 메소드를 그대로 병렬로 호출
+ */
+@Slf4j
+@Service
+public class HomeService {
+
+    // 병렬 조회에 쓸 스레드 수
+    @Value("${HOME.THREADS:8}")
+    private int threads;
+
+    // 각 조회를 기다릴 최대 시간 - 넘으면 해당 부분만 500 으로 채움
+    @Value("${HOME.TIMEOUT_MS:3000}")
+    private long timeoutMs;
+
+    private JwtService jwtService;
+    private NoticeService noticeService;
+    private CondService condService;
+    private UserService userService;
+
+    private ThreadPoolExecutor homePool;
+
+    public HomeService(JwtService jwtService, NoticeService noticeService, CondService condService, UserService userService) {
+        this.jwtService = jwtService;
+        this.noticeService = noticeService;
+        this.condService = condService;
+        this.userService = userService;
+    }
+
+    @PostConstruct
+    public void init() {
+        final AtomicInteger seq = new AtomicInteger();
+        // 대기열이 차면 요청 스레드가 직접 처리 - 몰려도 스레드/메모리가 무한정 늘지 않음
+        homePool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(threads * 16),
+                runnable -> new Thread(runnable, "home-" + seq.incrementAndGet()),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        homePool.shutdown();
+    }
+
+
+    // 홈 화면 조회 - 비회원이면 맞춤조건과 알람 개수는 빼고 조회, debug 면 부분별 소요시간(ms)도 같이 리턴
+    public DefaultRes getHome(final String jwt, final int reqNum, final int existNum, final boolean debug) {
+        // 토큰 해독 (1번만)
+        int userIdx = 0;
+        if(!(jwt == null || jwt.isEmpty())) {
+            userIdx = jwtService.decode(jwt).getUser_idx();
+
+            // 비정상 토큰인 경우 403 리턴
+            if(userIdx < 1)
+                return AuthAspect.DEFAULT_RES_403;
+        }
+        final int user = userIdx;
+
+        final Map<String, CompletableFuture<DefaultRes>> parts = new LinkedHashMap<>();
+        final Map<String, Long> timings = new ConcurrentHashMap<>();
+
+        parts.put("count", submit("count", timings, () -> noticeService.getNoticeCnt()));
+        parts.put("list", submit("list", timings, () -> noticeService.getNoticeSummaryListByUserIdx(user, reqNum, existNum)));
+        if(user > 0) {
+            parts.put("cond", submit("cond", timings, () -> condService.getCondInfoByToken(user)));
+            parts.put("unchecked", submit("unchecked", timings, () -> userService.getUncheckedNotificationCount(user)));
+        }
+
+        // 부분별 응답을 그대로 담음 - 각 부분의 status(204, 206 등)는 기존 API 와 같음
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        final LinkedHashMap<String, Object> home = new LinkedHashMap<>();
+        for(Map.Entry<String, CompletableFuture<DefaultRes>> e : parts.entrySet())
+            home.put(e.getKey(), join(e.getKey(), e.getValue(), deadline));
+
+        if(debug)
+            home.put("timings", new LinkedHashMap<>(timings));
+
+        return DefaultRes.res(StatusCode.OK, ResponseMessage.READ_HOME, home);
+    }
+
+
+    private CompletableFuture<DefaultRes> submit(final String name, final Map<String, Long> timings, final Supplier<DefaultRes> part) {
+        return CompletableFuture.supplyAsync(() -> {
+            final long start = System.nanoTime();
+            try {
+                return part.get();
+            } finally {
+                timings.put(name, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            }
+        }, homePool);
+    }
+
+    // 실패하거나 시간이 지나면 해당 부분만 500 으로 채우고 나머지는 그대로 응답
+    private DefaultRes join(final String name, final CompletableFuture<DefaultRes> future, final long deadline) {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch(TimeoutException e) {
+            future.cancel(true);
+            log.error("@@@@@ HomeService " + name + " timeout!! @@@@@");
+        } catch(ExecutionException e) {
+            log.error("@@@@@ HomeService " + name + " fail!! @@@@@");
+            log.error("Exception Detail (below)", e.getCause());
+        }
+        return DefaultRes.res(StatusCode.INTERNAL_SERVER_ERROR, ResponseMessage.INTERNAL_SERVER_ERROR);
+    }
+}
@@ -1,85 +1,199 @@
 package org.sopt.smatching.service;
 
 import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
 import org.sopt.smatching.mapper.*;
 import org.sopt.smatching.model.cond.Cond;
 import org.sopt.smatching.model.cond.CondDetail;
+import org.sopt.smatching.model.job.IdRange;
 import org.sopt.smatching.model.notice.Notice;
+import org.sopt.smatching.model.notice.NoticeChange;
+import org.sopt.smatching.model.notice.NoticeChangedEvent;
+import org.sopt.smatching.model.notice.NoticeChangesRes;
 import org.sopt.smatching.model.notice.NoticeDetail;
 import org.sopt.smatching.model.notice.NoticeSummary;
+import org.sopt.smatching.model.notice.ScrapState;
 import org.sopt.smatching.model.notification.AlertType;
 import org.sopt.smatching.model.notification.Notification;
+import org.sopt.smatching.model.notification.ReminderTarget;
 import org.sopt.smatching.model.user.UserAlert;
 import org.sopt.smatching.model.DefaultRes;
 import org.sopt.smatching.model.notice.NoticeInput;
+import org.sopt.smatching.utils.CatalogVersion;
+import org.sopt.smatching.utils.JobLock;
 import org.sopt.smatching.utils.MultipleOption;
+import org.sopt.smatching.utils.NoticeDetailCache;
+import org.sopt.smatching.utils.NoticeSnapshot;
+import org.sopt.smatching.utils.ReadCountBuffer;
+import org.sopt.smatching.utils.ReminderDispatcher;
 import org.sopt.smatching.utils.ResponseMessage;
+import org.sopt.smatching.utils.ScrapCache;
+import org.sopt.smatching.utils.ScrapCountBuffer;
 import org.sopt.smatching.utils.StatusCode;
+import org.sopt.smatching.utils.TrendingCounter;
 import org.sopt.smatching.utils.auth.AuthAspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.interceptor.TransactionAspectSupport;
-
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 
 @Slf4j
 @Service
 public class NoticeService {
 
     private JwtService jwtService;
+    private NotificationService notificationService;
+    private ReminderDispatcher reminderDispatcher;
+    private ReadCountBuffer readCountBuffer;
+    private TrendingCounter trendingCounter;
+    private ScrapCache scrapCache;
+    private ScrapCountBuffer scrapCountBuffer;
+    private NoticeSnapshot noticeSnapshot;
+    private NoticeDetailCache noticeDetailCache;
+    private CatalogVersion catalogVersion;
 
     private NoticeMapper noticeMapper;
     private CondMapper condMapper;
     private ScrapMapper scrapMapper;
     private UserMapper userMapper;
-    private NotificationMapper notificationMapper;
+    private NoticeChangeMapper noticeChangeMapper;
+
+    private ApplicationEventPublisher eventPublisher;
+
+    private SqlSessionFactory sqlSessionFactory;
+    private TransactionTemplate transactionTemplate;
+
+    // 만료 공고 비활성화를 UPDATE 한번에 몇개씩 할지
+    @Value("${SCHEDULER.EXPIRE_CHUNK_SIZE:500}")
+    private int expireChunkSize;
+
+    // 상세내용 여러개 조회 1번에 조회할 수 있는 최대 공고 수
+    @Value("${NOTICE.DETAILS_MAX:50}")
+    private int maxDetails;
+
+    // 변경분 조회 1번에 줄 최대 변경 로그 수
+    @Value("${NOTICE.CHANGES.MAX:500}")
+    private int maxChanges;
+
+    // 변경 로그가 이 시간(초)보다 오래되어야 version 으로 넘겨줌 - 먼저 번호를 받고 늦게 커밋된 row 를 놓치지 않도록
+    @Value("${NOTICE.CHANGES.SETTLE_SEC:10}")
+    private int changeSettleSec;
+
+    // 변경 로그 보관 기간(일)
+    @Value("${NOTICE.CHANGES.RETENTION_DAYS:30}")
+    private int changeRetentionDays;
+
+    // 일괄 스크랩 요청 1번에 바꿀 수 있는 최대 공고 수
+    @Value("${SCRAP.BULK_MAX:500}")
+    private int maxBulkScrap;
+
+    // D-3 알람을 INSERT 한번에 몇개씩 저장할지
+    @Value("${SCHEDULER.REMINDER_CHUNK_SIZE:500}")
+    private int reminderChunkSize;
 
 
-    public NoticeService(JwtService jwtService, NoticeMapper noticeMapper, CondMapper condMapper, ScrapMapper scrapMapper, UserMapper userMapper, NotificationMapper notificationMapper) {
+    public NoticeService(JwtService jwtService, NotificationService notificationService, ReminderDispatcher reminderDispatcher,
+                         ReadCountBuffer readCountBuffer, TrendingCounter trendingCounter, ScrapCache scrapCache, ScrapCountBuffer scrapCountBuffer,
+                         NoticeSnapshot noticeSnapshot, NoticeDetailCache noticeDetailCache, CatalogVersion catalogVersion,
+                         NoticeMapper noticeMapper, CondMapper condMapper, ScrapMapper scrapMapper, UserMapper userMapper, NoticeChangeMapper noticeChangeMapper,
+                         ApplicationEventPublisher eventPublisher, SqlSessionFactory sqlSessionFactory, TransactionTemplate transactionTemplate) {
         this.jwtService = jwtService;
+        this.notificationService = notificationService;
+        this.reminderDispatcher = reminderDispatcher;
+        this.readCountBuffer = readCountBuffer;
+        this.trendingCounter = trendingCounter;
+        this.scrapCache = scrapCache;
+        this.scrapCountBuffer = scrapCountBuffer;
+        this.noticeSnapshot = noticeSnapshot;
+        this.noticeDetailCache = noticeDetailCache;
+        this.catalogVersion = catalogVersion;
         this.noticeMapper = noticeMapper;
         this.condMapper = condMapper;
         this.scrapMapper = scrapMapper;
         this.userMapper = userMapper;
-        this.notificationMapper = notificationMapper;
+        this.noticeChangeMapper = noticeChangeMapper;
+        this.eventPublisher = eventPublisher;
+        this.sqlSessionFactory = sqlSessionFactory;
+        this.transactionTemplate = transactionTemplate;
     }
 
 
 
     // 전체 지원사업 개수 조회
     public DefaultRes getNoticeCnt() {
-        final int noticeCnt = noticeMapper.countAllNotice();
+        final int noticeCnt = noticeSnapshot.count();
         return DefaultRes.res(StatusCode.OK, ResponseMessage.READ_ALL_NOTICE_CNT_SUCCESS, noticeCnt);
     }
 
-    // 전체 지원사업 목록 조회 - 최신등록순으로 요청된 갯수만큼 리턴
-    public DefaultRes getNoticeSummaryList(String jwt, int reqNum, int existNum) {
-        List<NoticeSummary> noticeSummaryList;
-
-        // 토큰값 없으면 조인 없는 쿼리문 사용, scrap은 모두 int 기본값인 0으로 설정됨
+    // 전체 지원사업 목록의 ETag - 공고 목록, 반영된 조회수/스크랩 수, 유저의 스크랩 여부가 같으면 같은 값 (비정상 토큰이면 null)
+    public String getNoticeListTag(String jwt) {
         if(jwt == null  || jwt == "")
-            noticeSummaryList = noticeMapper.findAllNoticeSummary(reqNum, existNum);
+            return catalogVersion.listTag();
+
+        final int userIdx = jwtService.decode(jwt).getUser_idx();
+        if(userIdx < 1)
+            return null;
 
-        // 토큰값 있으면 스크랩 여부를 위해 조인 필요
-        else {
+        final int[] scraped = scrapCache.get(userIdx);
+        return catalogVersion.listTag() + "-u" + userIdx + "-" + scraped.length + "-" + Integer.toHexString(Arrays.hashCode(scraped));
+    }
+
+    // 전체 지원사업 목록 조회 - 최신등록순으로 요청된 갯수만큼 리턴
+    public DefaultRes getNoticeSummaryList(String jwt, int reqNum, int existNum) {
+        // 토큰값 없으면 비회원(userIdx 0)
+        int userIdx = 0;
+        if(!(jwt == null  || jwt == "")) {
 
             // 토큰 해독
             final JwtService.Token token = jwtService.decode(jwt);
-            int userIdx = token.getUser_idx();
+            userIdx = token.getUser_idx();
 
             // 비정상 토큰인 경우 403 리턴
             if(userIdx < 1)
                 return AuthAspect.DEFAULT_RES_403;
-
-            // scrap과 조인하는 쿼리문 사용
-            noticeSummaryList = noticeMapper.findAllNoticeSummaryWithScrap(reqNum, existNum, userIdx);
         }
 
+        return getNoticeSummaryListByUserIdx(userIdx, reqNum, existNum);
+    }
+
+    // 위 메소드에서 토큰 해독 이후 부분 - 이미 해독한 userIdx 로 조회 (0 이면 비회원)
+    public DefaultRes getNoticeSummaryListByUserIdx(int userIdx, int reqNum, int existNum) {
+        // 회원/비회원 모두 메모리의 공고 목록 스냅샷에서 잘라서 사용, scrap은 모두 int 기본값인 0으로 설정됨
+        List<NoticeSummary> noticeSummaryList = noticeSnapshot.page(reqNum, existNum);
+
+        // 회원이면 스크랩 여부를 유저별 스크랩 캐시로 채움
+        if(userIdx > 0)
+            scrapCache.overlay(userIdx, noticeSummaryList);
+
         // 한개도 검색되지 않았으면 204
         if (noticeSummaryList.isEmpty())
             return DefaultRes.res(StatusCode.NO_CONTENT, ResponseMessage.NOT_FOUND_NOTICE);
 
+        readCountBuffer.overlay(noticeSummaryList);
+        scrapCountBuffer.overlay(noticeSummaryList);
         return DefaultRes.res(StatusCode.OK, ResponseMessage.READ_NOTICE_SUMMARY, noticeSummaryList);
     }
 
@@ -118,82 +232,313 @@ public class NoticeService {
         if(cond == null)
             return DefaultRes.res(StatusCode.BAD_REQUEST, ResponseMessage.NOT_EXIST_COND);
 
-        // notice 테이블과 scrap과 조인하는 쿼리문 사용
-        List<NoticeSummary> noticeSummaryList = noticeMapper.findFitNoticeSummaryWithScrap(reqNum, existNum, userIdx, cond);
+        // 조인 없는 쿼리문 사용, 스크랩 여부는 유저별 스크랩 캐시로 채움
+        List<NoticeSummary> noticeSummaryList = noticeMapper.findFitNoticeSummary(reqNum, existNum, cond);
+        scrapCache.overlay(userIdx, noticeSummaryList);
 
 
         // 한개도 검색되지 않았으면 204
         if (noticeSummaryList.isEmpty())
             return DefaultRes.res(StatusCode.NO_CONTENT, ResponseMessage.NOT_FOUND_NOTICE);
 
+        readCountBuffer.overlay(noticeSummaryList);
+        scrapCountBuffer.overlay(noticeSummaryList);
+        return DefaultRes.res(StatusCode.OK, ResponseMessage.READ_NOTICE_SUMMARY, noticeSummaryList);
+    }
+
+
+    // 스크랩 많은 순 지원사업 목록 조회 - notice.scrapcnt 로 정렬 (집계 쿼리 x)
+    public DefaultRes getMostScrapedNoticeList(String jwt, int reqNum, int existNum) {
+        List<NoticeSummary> noticeSummaryList = noticeMapper.findMostScrapedNoticeSummary(reqNum, existNum);
+
+        // 토큰값 있으면 스크랩 여부를 유저별 스크랩 캐시로 채움
+        if(!(jwt == null  || jwt == "")) {
+            final JwtService.Token token = jwtService.decode(jwt);
+            int userIdx = token.getUser_idx();
+
+            // 비정상 토큰인 경우 403 리턴
+            if(userIdx < 1)
+                return AuthAspect.DEFAULT_RES_403;
+
+            scrapCache.overlay(userIdx, noticeSummaryList);
+        }
+
+        // 한개도 검색되지 않았으면 204
+        if (noticeSummaryList.isEmpty())
+            return DefaultRes.res(StatusCode.NO_CONTENT, ResponseMessage.NOT_FOUND_NOTICE);
+
+        readCountBuffer.overlay(noticeSummaryList);
+        scrapCountBuffer.overlay(noticeSummaryList);
+        return DefaultRes.res(StatusCode.OK, ResponseMessage.READ_NOTICE_SUMMARY, noticeSummaryList);
+    }
+
+
+    // 최근 24시간 동안 많이 조회된 공고 목록
+    public DefaultRes getTrendingNoticeList(final int num) {
+        final List<Integer> noticeIdxList = trendingCounter.top(num);
+        if(noticeIdxList.isEmpty())
+            return DefaultRes.res(StatusCode.NO_CONTENT, ResponseMessage.NOT_FOUND_NOTICE);
+
+        // IN 조회 결과를 인기 순서대로 다시 정렬
+        final HashMap<Integer, NoticeSummary> map = new HashMap<>();
+        for(NoticeSummary summary : noticeMapper.findNoticeSummaryByIdxList(noticeIdxList))
+            map.put(summary.getNoticeIdx(), summary);
+
+        final List<NoticeSummary> noticeSummaryList = new ArrayList<>(map.size());
+        for(int noticeIdx : noticeIdxList) {
+            final NoticeSummary summary = map.get(noticeIdx);
+            if(summary != null)
+                noticeSummaryList.add(summary);
+        }
+        if(noticeSummaryList.isEmpty())
+            return DefaultRes.res(StatusCode.NO_CONTENT, ResponseMessage.NOT_FOUND_NOTICE);
+
+        readCountBuffer.overlay(noticeSummaryList);
+        scrapCountBuffer.overlay(noticeSummaryList);
         return DefaultRes.res(StatusCode.OK, ResponseMessage.READ_NOTICE_SUMMARY, noticeSummaryList);
     }
 
 
     // 공고 상세 조회 + 조회수 1 증가
     public DefaultRes getDetail(int noticeIdx) {
-        NoticeDetail noticeDetail = noticeMapper.findDetailByNoticeIdx(noticeIdx);
-        if (noticeDetail == null)
-            return DefaultRes.res(StatusCode.BAD_REQUEST, ResponseMessage.NOT_FOUND_NOTICE);
-
-        // 조회수 1 증가 - 실패해도 에러를 리턴하진 않고 그냥 로그만 남김
-        try {
-            noticeMapper.plusReadCnt(noticeIdx);
-        } catch (Exception e) {
-            log.error("\n- Exception Detail (below)", e);
+        // 자주 보는 공고는 힙 바깥 캐시에서 바로 가져옴
+        NoticeDetail noticeDetail = noticeDetailCache.get(noticeIdx);
+        if (noticeDetail == null) {
+            noticeDetail = noticeMapper.findDetailByNoticeIdx(noticeIdx);
+            if (noticeDetail == null)
+                return DefaultRes.res(StatusCode.BAD_REQUEST, ResponseMessage.NOT_FOUND_NOTICE);
+            noticeDetailCache.put(noticeIdx, noticeDetail);
         }
 
+        recordView(noticeIdx);
+
         return DefaultRes.res(StatusCode.OK, ResponseMessage.READ_NOTICE_DETAIL, noticeDetail);
     }
 
+    // 여러 공고 상세조회 - 캐시에 없는 것만 IN 쿼리 한번으로 가져옴, 요청 순서대로 noticeIdx -> 상세내용 (없는 공고는 빠짐)
+    public DefaultRes getDetails(List<Integer> noticeIdxList) {
+        // 중복 제거 (순서 유지)
+        final List<Integer> idxList = new ArrayList<>(new LinkedHashSet<>(noticeIdxList));
+        if(idxList.size() > maxDetails)
+            return DefaultRes.res(StatusCode.BAD_REQUEST, ResponseMessage.TOO_MANY_NOTICE);
+
+        final HashMap<Integer, NoticeDetail> found = new HashMap<>();
+        final List<Integer> missList = new ArrayList<>();
+        for(int noticeIdx : idxList) {
+            final NoticeDetail noticeDetail = noticeDetailCache.get(noticeIdx);
+            if(noticeDetail != null)
+                found.put(noticeIdx, noticeDetail);
+            else
+                missList.add(noticeIdx);
+        }
+        if(!missList.isEmpty()) {
+            for(NoticeDetail noticeDetail : noticeMapper.findDetailByNoticeIdxList(missList)) {
+                found.put(noticeDetail.getNoticeIdx(), noticeDetail);
+                noticeDetailCache.put(noticeDetail.getNoticeIdx(), noticeDetail);
+            }
+        }
+
+        // 한개도 없으면 204
+        if(found.isEmpty())
+            return DefaultRes.res(StatusCode.NO_CONTENT, ResponseMessage.NOT_FOUND_NOTICE);
+
+        // 조회수는 ReadCountBuffer 에 모여서 다음 flush 때 UPDATE 한번으로 반영됨
+        final LinkedHashMap<Integer, NoticeDetail> detailMap = new LinkedHashMap<>();
+        for(int noticeIdx : idxList) {
+            final NoticeDetail noticeDetail = found.get(noticeIdx);
+            if(noticeDetail == null)
+                continue;
+            detailMap.put(noticeIdx, noticeDetail);
+            recordView(noticeIdx);
+        }
+
+        return DefaultRes.res(StatusCode.OK, ResponseMessage.READ_NOTICE_DETAIL, detailMap);
+    }
+
+    // 공고 목록 변경분 조회 - since(클라가 마지막으로 받은 version) 이후 추가된 공고와 삭제된 공고의 noticeIdx
+    public DefaultRes getNoticeChanges(String jwt, long since) {
+        int userIdx = 0;
+        if(!(jwt == null  || jwt == "")) {
+
+            // 토큰 해독
+            final JwtService.Token token = jwtService.decode(jwt);
+            userIdx = token.getUser_idx();
+
+            // 비정상 토큰인 경우 403 리턴
+            if(userIdx < 1)
+                return AuthAspect.DEFAULT_RES_403;
+        }
+
+        // 처음 받는 클라거나 since 이후 로그가 이미 정리됐으면 처음부터 다시 받도록 함 (version 을 먼저 받고 목록을 받아야 사이의 변경을 놓치지 않음)
+        final Long minIdx = noticeChangeMapper.findMinChangeIdx();
+        if(since <= 0 || minIdx == null || since < minIdx - 1) {
+            final NoticeChangesRes res = new NoticeChangesRes(noticeChangeMapper.findSettledMaxChangeIdx(changeSettleSec), true);
+            return DefaultRes.res(StatusCode.OK, ResponseMessage.READ_NOTICE_CHANGES, res);
+        }
+
+        List<NoticeChange> changeList = noticeChangeMapper.findSince(since, maxChanges + 1, changeSettleSec);
+        final boolean hasMore = changeList.size() > maxChanges;
+        if(hasMore)
+            changeList = changeList.subList(0, maxChanges);
+
+        // version 은 settled 인 row 까지만 올림 - 그 뒤 row 는 다음 요청에서 한번 더 받음 (같은 변경을 여러번 받아도 결과는 같음)
+        long version = since;
+        for(NoticeChange change : changeList) {
+            if(!change.isSettled())
+                break;
+            version = change.getChangeIdx();
+        }
+
+        // 공고별 마지막 변경만 봄 - 마지막이 추가면 현재 값을, 아니면 삭제로 내려줌
+        final LinkedHashMap<Integer, String> latest = new LinkedHashMap<>();
+        for(NoticeChange change : changeList)
+            latest.put(change.getNoticeIdx(), change.getType());
+
+        final List<Integer> addedList = new ArrayList<>();
+        for(Map.Entry<Integer, String> e : latest.entrySet())
+            if(NoticeChangedEvent.Type.ADDED.name().equals(e.getValue()))
+                addedList.add(e.getKey());
+
+        final NoticeChangesRes res = new NoticeChangesRes(version, false);
+        res.setHasMore(hasMore);
+        if(!addedList.isEmpty()) {
+            final List<NoticeSummary> noticeSummaryList = noticeMapper.findNoticeSummaryByIdxList(addedList);
+            if(userIdx > 0)
+                scrapCache.overlay(userIdx, noticeSummaryList);
+            readCountBuffer.overlay(noticeSummaryList);
+            scrapCountBuffer.overlay(noticeSummaryList);
+            res.setNoticeSummaryList(noticeSummaryList);
+        }
+
+        // 추가됐지만 그 사이 비활성화되어 조회되지 않은 공고도 삭제로 내려줌
+        final HashSet<Integer> validSet = new HashSet<>();
+        for(NoticeSummary noticeSummary : res.getNoticeSummaryList())
+            validSet.add(noticeSummary.getNoticeIdx());
+        for(int noticeIdx : latest.keySet())
+            if(!validSet.contains(noticeIdx))
+                res.getDeletedNoticeIdxList().add(noticeIdx);
+
+        return DefaultRes.res(StatusCode.OK, ResponseMessage.READ_NOTICE_CHANGES, res);
+    }
+
+    // 조회수 1 증가 - 메모리에 모았다가 몇 초마다 한번에 반영 (304 응답일때도 호출)
+    public void recordView(int noticeIdx) {
+        readCountBuffer.increment(noticeIdx);
+        trendingCounter.record(noticeIdx);
+    }
+
+    // 공고를 조회하지 않고 응답하는 경우(304)용 - 있는 공고일때만 조회수 올림 (아무 notice_idx 로나 버퍼가 커지지 않도록)
+    public void recordViewIfExists(int noticeIdx) {
+        if(noticeSnapshot.contains(noticeIdx) || noticeDetailCache.contains(noticeIdx))
+            recordView(noticeIdx);
+    }
+
     ///////////////////////////////////////////////////////////////////////
 
-    // 스크랩 여부 조회
+    // 스크랩 여부 조회 - 유저별 스크랩 캐시에서 조회 (1 or 0)
     public DefaultRes getScrap(int userIdx, int noticeIdx) {
-        // 현재 상태 count로 체크 (1 or 0)
-        int scraped = scrapMapper.isScraped(userIdx, noticeIdx);
+        int scraped = scrapCache.contains(userIdx, noticeIdx) ? 1 : 0;
 
         return DefaultRes.res(StatusCode.OK, ResponseMessage.READ_SCRAP, scraped);
     }
 
-    // 스크랩 여부 바꾸기
+    // 스크랩 설정 - 이미 스크랩 돼있어도 성공 (INSERT IGNORE 한번)
+    public DefaultRes setScrap(int userIdx, int noticeIdx) {
+        if(scrapMapper.saveScrap(userIdx, noticeIdx) == 1) { // 실제로 추가된 경우에만 스크랩 수 증가
+            scrapCountBuffer.add(noticeIdx, 1);
+        }
+        // 0 이면 이미 스크랩 돼있거나, 없는 공고라서 INSERT 되지 않은 것
+        else if(scrapMapper.isScraped(userIdx, noticeIdx) == 0) {
+            return DefaultRes.res(StatusCode.BAD_REQUEST, ResponseMessage.NOT_FOUND_NOTICE);
+        }
+        scrapCache.add(userIdx, noticeIdx);
+
+        return DefaultRes.res(StatusCode.OK, ResponseMessage.CREATED_SCRAP, 1);
+    }
+
+    // 스크랩 해제 - 스크랩 안돼있어도 성공 (DELETE 한번)
+    public DefaultRes unsetScrap(int userIdx, int noticeIdx) {
+        if(scrapMapper.deleteScrap(userIdx, noticeIdx) == 1) // 실제로 삭제된 경우에만 스크랩 수 감소
+            scrapCountBuffer.add(noticeIdx, -1);
+        scrapCache.remove(userIdx, noticeIdx);
+
+        return DefaultRes.res(StatusCode.OK, ResponseMessage.DELETED_SCRAP, 0);
+    }
+
+    // 여러 공고의 스크랩 여부를 트랜잭션 한번으로 설정/해제 - INSERT IGNORE 1번 + DELETE 1번, 바뀐 뒤의 상태를 다시 조회해서 리턴
+    // 없는 공고는 스크랩되지 않으므로 0 으로 리턴됨
     @Transactional
-    public DefaultRes changeScrap(int userIdx, int noticeIdx) {
+    public DefaultRes changeScrapAll(int userIdx, List<ScrapState> scrapStateList) {
+        if(scrapStateList.size() > maxBulkScrap)
+            return DefaultRes.res(StatusCode.BAD_REQUEST, ResponseMessage.TOO_MANY_SCRAP);
 
-        // 현재 상태 sql의 COUNT로 체크 (1 or 0)
-        int scraped = scrapMapper.isScraped(userIdx, noticeIdx);
+        // 같은 공고가 여러번 오면 마지막 값 사용
+        final LinkedHashMap<Integer, Integer> wanted = new LinkedHashMap<>();
+        for(ScrapState state : scrapStateList)
+            wanted.put(state.getNoticeIdx(), state.getScrap() > 0 ? 1 : 0);
 
-        if (scraped == 0) { // 스크랩 안돼있으면 row 추가
-            int rowCnt = scrapMapper.insertScrap(userIdx, noticeIdx);
-            if(rowCnt != 1) {
-                log.error("--------------------------------------------");
-                log.error("@@@@@ rowCnt is NOT 1 but " + rowCnt + " @@@@@");
-                scrapMapper.insertScrap(-1, -1); // 강제로 예외 발생시킴
-            }
+        final List<Integer> scrapList = new ArrayList<>();
+        final List<Integer> unscrapList = new ArrayList<>();
+        wanted.forEach((noticeIdx, scrap) -> (scrap == 1 ? scrapList : unscrapList).add(noticeIdx));
 
-            return DefaultRes.res(StatusCode.OK, ResponseMessage.CREATED_SCRAP, 1);
-        }
+        if(wanted.isEmpty())
+            return DefaultRes.res(StatusCode.OK, ResponseMessage.UPDATED_SCRAP_ALL, new ArrayList<ScrapState>());
 
-        else if (scraped == 1) { // 스크랩 돼있으면 row 삭제
-            int rowCnt = scrapMapper.deleteScrap(userIdx, noticeIdx);
-            if(rowCnt != 1) {
-                log.error("--------------------------------------------");
-                log.error("@@@@@ rowCnt is NOT 1 but " + rowCnt + " @@@@@");
-                scrapMapper.insertScrap(-1, -1); // 강제로 예외 발생시킴
+        try {
+            // 실제로 바뀐 공고만 스크랩 수와 캐시에 반영하기 위해 바뀌기 전/후 상태 확인
+            final List<Integer> noticeIdxList = new ArrayList<>(wanted.keySet());
+            final HashSet<Integer> before = new HashSet<>(scrapMapper.findScrapedNoticeIdxIn(userIdx, noticeIdxList));
+            if(!scrapList.isEmpty())
+                scrapMapper.saveScrapAll(userIdx, scrapList);
+            if(!unscrapList.isEmpty())
+                scrapMapper.deleteScrapAll(userIdx, unscrapList);
+            final HashSet<Integer> after = new HashSet<>(scrapMapper.findScrapedNoticeIdxIn(userIdx, noticeIdxList));
+
+            final List<ScrapState> result = new ArrayList<>(noticeIdxList.size());
+            final List<Integer> added = new ArrayList<>();
+            final List<Integer> removed = new ArrayList<>();
+            for(int noticeIdx : noticeIdxList) {
+                final boolean scraped = after.contains(noticeIdx);
+                result.add(new ScrapState(noticeIdx, scraped ? 1 : 0));
+                if(scraped && !before.contains(noticeIdx))
+                    added.add(noticeIdx);
+                else if(!scraped && before.contains(noticeIdx))
+                    removed.add(noticeIdx);
             }
 
-            return DefaultRes.res(StatusCode.OK, ResponseMessage.DELETED_SCRAP, 0);
-        }
+            // 커밋된 뒤에 스크랩 캐시, 스크랩 수 갱신 (롤백되면 그대로)
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    for(int noticeIdx : added) {
+                        scrapCountBuffer.add(noticeIdx, 1);
+                        scrapCache.add(userIdx, noticeIdx);
+                    }
+                    for(int noticeIdx : removed) {
+                        scrapCountBuffer.add(noticeIdx, -1);
+                        scrapCache.remove(userIdx, noticeIdx);
+                    }
+                }
+            });
 
-        else { // PK(2개조합)으로 조회했기 때문에 COUNT의 결과가 무조건 0 아니면 1이어야함.. 여기로 오면 안됨
-            log.error("--------------------------------------------");
-            log.error("@@@@@ scraped is NOT 0 or 1 but " + scraped + " @@@@@");
-            scrapMapper.insertScrap(-1, -1); // 강제로 예외 발생시킴
+            return DefaultRes.res(StatusCode.OK, ResponseMessage.UPDATED_SCRAP_ALL, result);
 
-            return null; // 위에서 예외가 발생되기 때문에 여기로 넘어올일 없음
+        } catch(Exception e) {
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly(); //Rollback
+            log.error("\n- Exception Detail (below)", e);
+            return DefaultRes.res(StatusCode.DB_ERROR, ResponseMessage.DB_ERROR);
         }
     }
 
+    // 스크랩 여부 바꾸기 (기존 클라 호환용) - DB 기준 현재 상태의 반대로 설정/해제
+    // 캐시는 다른 서버에서 바뀐 스크랩이 늦게 반영될 수 있어서 토글 판단에는 사용하지 않음
+    public DefaultRes changeScrap(int userIdx, int noticeIdx) {
+        if (scrapMapper.isScraped(userIdx, noticeIdx) > 0)
+            return unsetScrap(userIdx, noticeIdx);
+
+        return setScrap(userIdx, noticeIdx);
+    }
+
 
     // 유저가 스크랩한 지원사업 목록 조회
     public DefaultRes getScrapedNoticeList(int userIdx, int reqNum, int existNum) {
@@ -203,6 +548,8 @@ public class NoticeService {
         if (noticeSummaryList.isEmpty())
             return DefaultRes.res(StatusCode.NO_CONTENT, ResponseMessage.NOT_FOUND_NOTICE);
 
+        readCountBuffer.overlay(noticeSummaryList);
+        scrapCountBuffer.overlay(noticeSummaryList);
         return DefaultRes.res(StatusCode.OK, ResponseMessage.READ_NOTICE_SUMMARY, noticeSummaryList);
     }
 
@@ -311,18 +658,16 @@ public class NoticeService {
                 scrapMapper.insertScrap(-1, -1); // 강제로 예외 발생시킴
             }
 
+            saveChange(NoticeChangedEvent.Type.ADDED, Collections.singletonList(notice.getNoticeIdx()));
+            eventPublisher.publishEvent(new NoticeChangedEvent(NoticeChangedEvent.Type.ADDED, notice.getNoticeIdx()));
             return DefaultRes.res(StatusCode.CREATED, ResponseMessage.CREATED_NOTICE);
         }
 
-        // 알람 전송할 유저 찾기 - 저장되어 있는 cond들과 비교해서 해당되는 맞춤조건을 찾아옴
-        int[] list = condMapper.getNotifiedUser(notice);
+        // 맞춤조건이 일치하는 유저들에게 새 공고 알람 (저장 방식은 NotificationService 설정에 따름)
+        notificationService.notifyNewNotice(notice);
 
-        // 각 유저들에 대해 알람 저장
-        for(int userIdx : list) {
-            // NewNotice 알람 저장 - Message는 공고의 제목
-            notificationMapper.save(new Notification(userIdx, notice.getNoticeIdx(), AlertType.NewNotice.toString(), noticeInput.getTitle()));
-            // (구현필요) - userIdx 로 기기 찾아서 푸시알람 전송
-        }
+        saveChange(NoticeChangedEvent.Type.ADDED, Collections.singletonList(notice.getNoticeIdx()));
+        eventPublisher.publishEvent(new NoticeChangedEvent(NoticeChangedEvent.Type.ADDED, notice.getNoticeIdx()));
 
         return DefaultRes.res(StatusCode.CREATED, ResponseMessage.CREATED_NOTICE);
     }
@@ -337,6 +682,8 @@ public class NoticeService {
             scrapMapper.insertScrap(-1, -1); // 강제로 예외 발생시킴
         }
 
+        saveChange(NoticeChangedEvent.Type.INVALIDATED, Collections.singletonList(noticeIdx));
+        eventPublisher.publishEvent(new NoticeChangedEvent(NoticeChangedEvent.Type.INVALIDATED, noticeIdx));
         return DefaultRes.res(StatusCode.NO_CONTENT, ResponseMessage.INVALIDATED_NOTICE);
     }
 
@@ -382,31 +729,136 @@ public class NoticeService {
 
 
     // 전체 지원사업공고를 스캔해서 dday가 만료된건 비활성화 - NoticeScheduler 사용
-    @Transactional
     public List<Integer> scanExpiredNoticesToInvalidation() {
         final List<Integer> list = noticeMapper.getExpiredNotice();
-        for(int noticeIdx : list) {
-            invalidateNotice(noticeIdx);
-        }
+        expireNotices(list, null);
         return list;
     }
 
+    // 스케줄 작업을 나눌 활성화된 공고의 noticeIdx 범위
+    public IdRange findValidNoticeIdxRange() {
+        return noticeMapper.findValidNoticeIdxRange();
+    }
+
+    // noticeIdx 구간 하나의 스크랩 수를 scrap_notice 기준으로 다시 맞춤 - ChunkedJobExecutor 사용
+    public int reconcileScrapCntInRange(final int fromIdx, final int toIdx, final JobLock.Lease lease) {
+        return transactionTemplate.execute(status -> {
+            lease.fence();
+            return noticeMapper.reconcileScrapCnt(fromIdx, toIdx);
+        });
+    }
+
+    // noticeIdx 구간 하나의 만료된 공고 비활성화 - ChunkedJobExecutor 사용, 비활성화한 공고 수 리턴
+    public int expireNoticesInRange(final int fromIdx, final int toIdx, final JobLock.Lease lease) {
+        final List<Integer> list = noticeMapper.getExpiredNoticeInRange(fromIdx, toIdx);
+        expireNotices(list, lease);
+        return list.size();
+    }
+
+    // 주어진 공고들을 구간별 UPDATE 로 비활성화, 구간마다 비활성화 + 변경 로그를 트랜잭션 1번으로 커밋하고 카탈로그 변경 이벤트도 구간당 1번만 발행
+    // (변경 로그만 빠지면 /notices/changes 로 동기화하는 앱이 만료를 영영 모름)
+    // 스케줄 작업에서 호출하면 lease 로 펜싱 - 락을 뺏긴 뒤의 구간은 반영되지 않음 (null 이면 펜싱 없이)
+    public void expireNotices(final List<Integer> list, final JobLock.Lease lease) {
+        for(int from = 0; from < list.size(); from += expireChunkSize) {
+            final List<Integer> chunk = list.subList(from, Math.min(from + expireChunkSize, list.size()));
+            final int chunkNum = from / expireChunkSize;
+
+            transactionTemplate.execute(status -> {
+                if(lease != null)
+                    lease.fence();
+
+                final long start = System.currentTimeMillis();
+                final int rowCnt = noticeMapper.invalidateAll(chunk);
+                log.info("- expire chunk " + chunkNum + " : " + chunk.size() + " notices, " + rowCnt + " rows, " + (System.currentTimeMillis() - start) + "ms");
+
+                saveChange(NoticeChangedEvent.Type.EXPIRED, chunk);
+                // 커밋된 뒤에 캐시/스냅샷 갱신 (@TransactionalEventListener)
+                eventPublisher.publishEvent(new NoticeChangedEvent(NoticeChangedEvent.Type.EXPIRED, new ArrayList<>(chunk)));
+                return rowCnt;
+            });
+        }
+    }
+
+    // 공고 변경 로그 저장 - /notices/changes 에서 사용
+    private void saveChange(final NoticeChangedEvent.Type type, final List<Integer> noticeIdxList) {
+        if(!noticeIdxList.isEmpty())
+            noticeChangeMapper.saveAll(type.name(), noticeIdxList);
+    }
+
+    // 보관 기간이 지난 변경 로그 삭제 (가장 최근 row 는 남김 - since 가 너무 오래된건지 판단할때 사용) - NoticeScheduler 사용
+    public int pruneNoticeChanges(final JobLock.Lease lease) {
+        final Long maxIdx = noticeChangeMapper.findMaxChangeIdx();
+        if(maxIdx == null)
+            return 0;
+        return transactionTemplate.execute(status -> {
+            lease.fence();
+            return noticeChangeMapper.deleteBefore(changeRetentionDays, maxIdx);
+        });
+    }
+
     // D-Day가 3 인 공고의 noticeIdx 찾아서 그 공고를 스크랩 해놓은 사용자에게 알람 보내기
-    @Transactional
-    public List<Integer> scanD_3NoticesToNotify() {
-        final List<Integer> notices = noticeMapper.getThreeDaysLeftNotice(); // notice 테이블에서 D-Day가 3일인 공고의 noticeIdx 찾아옴
+    public List<Integer> scanD_3NoticesToNotify() throws IOException, InterruptedException {
+        return notifyReminderTargets(session -> session.getMapper(NoticeMapper.class).findD_3ReminderTargets(), AlertType.ThreeDaysLeft, null, false);
+    }
 
-        for(int noticeIdx : notices) {
-            final NoticeDetail noticeDetail = noticeMapper.findDetailByNoticeIdx(noticeIdx); // 공고 제목을 얻기위해 공고 조회
-            final int[] users = scrapMapper.findScrapedUserByNoticeIdx(noticeIdx); // 이 noticeIdx를 스크랩 한 userIdx 전부 불러오기
+    // noticeIdx 구간 하나의 D-3 알람 보내기 - ChunkedJobExecutor 사용, 알람을 보낸 공고 수 리턴
+    // 체크포인트는 리턴한 뒤에 기록되므로 나눠서 보내는 중이어도 구간의 알람이 모두 저장될때까지 기다림
+    public int notifyD_3InRange(final int fromIdx, final int toIdx, final JobLock.Lease lease) throws IOException, InterruptedException {
+        return notifyReminderTargets(session -> session.getMapper(NoticeMapper.class).findD_3ReminderTargetsInRange(fromIdx, toIdx), AlertType.ThreeDaysLeft, lease, true).size();
+    }
 
-            for(int userIdx : users) { // 각 유저들에 대해 알람 저장하기
-                notificationMapper.save(new Notification(userIdx, noticeIdx, AlertType.ThreeDaysLeft.toString(), noticeDetail.getTitle()));
-                // (구현필요) 푸시 알람 보내기
+    // 마감일이 endDate 인 공고를 스크랩 해놓은 사용자 중 아직 리마인더를 받지 않은 사용자에게만 보내기 - NoticeDeadlineScheduler 사용
+    // 다음 조회때 같은 알람을 다시 찾지 않도록 모두 저장될때까지 기다림
+    public List<Integer> notifyUnsentReminders(final LocalDate endDate, final AlertType alertType, final JobLock.Lease lease) throws IOException, InterruptedException {
+        return notifyReminderTargets(session -> session.getMapper(NoticeMapper.class).findUnsentReminderTargets(endDate, alertType.toString()), alertType, lease, true);
+    }
+
+    // 만료됐는데 아직 활성화 상태인 모든 공고 - NoticeDeadlineScheduler 사용
+    public List<Integer> findExpiredNotices() {
+        return noticeMapper.getExpiredNotice();
+    }
+
+    // (공고, 제목, 유저) 쌍을 쿼리 1번으로 스트리밍하면서 알람을 구간별로 모아서 INSERT - 스크랩 수와 상관없이 메모리 사용량 일정
+    // 저장은 ReminderDispatcher 가 마감일 순서로 나눠서 함 (같은 구간에는 마감일이 같은 알람만 담음), lease 가 있으면 저장할때 펜싱
+    // 큐가 차면 dispatch 가 기다리므로 커서도 그만큼 천천히 읽음
+    // awaitSaved 면 큐에 넣은 알람까지 모두 저장된 뒤에 리턴 (저장하지 못하고 버려졌으면 예외)
+    private List<Integer> notifyReminderTargets(final Function<SqlSession, Cursor<ReminderTarget>> query, final AlertType alertType,
+                                                final JobLock.Lease lease, final boolean awaitSaved) throws IOException, InterruptedException {
+        final List<Integer> notices = new ArrayList<>(); // 알람을 보낸 공고의 noticeIdx (로그용)
+        final Deque<CompletableFuture<Void>> saved = new ArrayDeque<>(); // 아직 저장되지 않은 구간만
+        final List<Notification> chunk = new ArrayList<>(reminderChunkSize);
+        LocalDate chunkEndDate = null;
+
+        // 스트리밍 중인 커넥션에서는 다른 쿼리를 실행할 수 없어서 조회용 세션은 따로 열고, INSERT 는 기존 매퍼로 실행
+        try(SqlSession session = sqlSessionFactory.openSession();
+            Cursor<ReminderTarget> cursor = query.apply(session)) {
+
+            for(ReminderTarget target : cursor) {
+                if(notices.isEmpty() || notices.get(notices.size() - 1) != target.getNoticeIdx())
+                    notices.add(target.getNoticeIdx());
+
+                if(chunk.size() >= reminderChunkSize || !Objects.equals(chunkEndDate, target.getEndDate())) {
+                    track(saved, reminderDispatcher.dispatch(chunk, chunkEndDate, lease), awaitSaved);
+                    chunk.clear();
+                    chunkEndDate = target.getEndDate();
+                }
+                chunk.add(new Notification(target.getUserIdx(), target.getNoticeIdx(), alertType.toString(), target.getTitle()));
             }
         }
+        track(saved, reminderDispatcher.dispatch(chunk, chunkEndDate, lease), awaitSaved);
 
+        if(awaitSaved)
+            CompletableFuture.allOf(saved.toArray(new CompletableFuture[0])).join();
         return notices;
     }
 
+    // 저장이 끝난 구간은 바로 정리 - 들고있는 future 수도 큐 크기를 넘지 않음, 버려진 구간이 있으면 여기서 바로 중단
+    private void track(final Deque<CompletableFuture<Void>> saved, final CompletableFuture<Void> future, final boolean awaitSaved) {
+        if(!awaitSaved)
+            return;
+        saved.add(future);
+        while(!saved.isEmpty() && saved.peek().isDone())
+            saved.poll().join();
+    }
+
 }
@@ -0,0 +1,174 @@
+package org.sopt.smatching.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.sopt.smatching.mapper.CondMapper;
+import org.sopt.smatching.mapper.NoticeEventMapper;
+import org.sopt.smatching.mapper.NotificationMapper;
+import org.sopt.smatching.model.notice.Notice;
+import org.sopt.smatching.model.notification.AlertType;
+import org.sopt.smatching.model.notification.Notification;
+import org.sopt.smatching.model.notification.NotificationCreatedEvent;
+import org.sopt.smatching.model.notification.NotificationOutput;
+import org.sopt.smatching.utils.NotificationCoalescer;
+import org.sopt.smatching.utils.NotificationStreamRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+
+@Slf4j
+@Service
+public class NotificationService {
+
+    // 알람 저장 방식
+    // row   : 새 공고마다 매칭되는 유저 수만큼 notification row 를 씀 (fan-out-on-write)
+    // event : 새 공고마다 notice_event row 1개만 쓰고, 유저의 알람 목록은 읽을때 맞춤조건과 매칭해서 만듦 (fan-out-on-read)
+    public static final String STORAGE_ROW = "row";
+    public static final String STORAGE_EVENT = "event";
+
+    private final String storage;
+
+    private CondMapper condMapper;
+    private NotificationMapper notificationMapper;
+    private NoticeEventMapper noticeEventMapper;
+    private NotificationCoalescer notificationCoalescer;
+    private NotificationStreamRegistry notificationStreamRegistry;
+    private ApplicationEventPublisher eventPublisher;
+
+    public NotificationService(CondMapper condMapper, NotificationMapper notificationMapper, NoticeEventMapper noticeEventMapper,
+                               NotificationCoalescer notificationCoalescer, NotificationStreamRegistry notificationStreamRegistry, ApplicationEventPublisher eventPublisher,
+                               @Value("${NOTIFICATION.STORAGE:" + STORAGE_ROW + "}") String storage) {
+        this.storage = storage;
+        this.condMapper = condMapper;
+        this.notificationMapper = notificationMapper;
+        this.noticeEventMapper = noticeEventMapper;
+        this.notificationCoalescer = notificationCoalescer;
+        this.notificationStreamRegistry = notificationStreamRegistry;
+        this.eventPublisher = eventPublisher;
+    }
+
+
+    public boolean isEventStorage() {
+        return STORAGE_EVENT.equals(storage);
+    }
+
+
+    // 새 공고 알람 - 저장 방식에 따라 유저별 row 또는 공고 이벤트 1개를 씀. 바로 쓴 row 개수 리턴
+    public int notifyNewNotice(final Notice notice) {
+        if(isEventStorage()) {
+            final int rowCnt = noticeEventMapper.save(notice.getNoticeIdx());
+
+            // 유저별 row 는 없지만 지금 SSE 로 연결된 유저가 있으면 매칭되는 유저를 찾아서 알려줌
+            if(!notificationStreamRegistry.isEmpty())
+                eventPublisher.publishEvent(new NotificationCreatedEvent(condMapper.getNotifiedUser(notice), notice.getNoticeIdx(), AlertType.NewNotice.toString(), notice.getTitle()));
+            return rowCnt;
+        }
+
+        // 알람 전송할 유저 찾기 - 저장되어 있는 cond들과 비교해서 해당되는 맞춤조건을 찾아옴
+        int[] list = condMapper.getNotifiedUser(notice);
+
+        // 묶음 설정이 켜져있으면 유저별로 모았다가 한번에 저장 (NotificationCoalescer)
+        if(notificationCoalescer.isEnabled()) {
+            notificationCoalescer.add(list, notice.getNoticeIdx(), notice.getTitle());
+            return 0;
+        }
+
+        // 각 유저들에 대해 알람 저장
+        for(int userIdx : list) {
+            // NewNotice 알람 저장 - Message는 공고의 제목
+            notificationMapper.save(new Notification(userIdx, notice.getNoticeIdx(), AlertType.NewNotice.toString(), notice.getTitle()));
+            // (구현필요) - userIdx 로 기기 찾아서 푸시알람 전송
+        }
+        eventPublisher.publishEvent(new NotificationCreatedEvent(list, notice.getNoticeIdx(), AlertType.NewNotice.toString(), notice.getTitle()));
+        return list.length;
+    }
+
+    // 특정 유저 한명에게 가는 알람 (D-3 등) - 저장 방식과 상관없이 notification row 로 저장
+    public void notifyUser(final int userIdx, final int noticeIdx, final AlertType alertType, final String message) {
+        final Notification notification = new Notification(userIdx, noticeIdx, alertType.toString(), message);
+        notificationMapper.save(notification);
+        eventPublisher.publishEvent(new NotificationCreatedEvent(notification));
+        // (구현필요) 푸시 알람 보내기
+    }
+
+
+    // 유저의 알람 목록 조회 + 조회된 알람까지 모두 읽은 상태로 바꿈
+    public List<NotificationOutput> readFeed(final int userIdx) {
+        // notification row 들 (event 방식에서도 D-3 알람과 전환 이전의 알람은 row 로 남아있음)
+        List<NotificationOutput> rows = notificationMapper.findAllByUserIdx(userIdx);
+        if(!rows.isEmpty())
+            notificationMapper.updateReadWatermark(userIdx, rows.get(0).getNotificationIdx());
+
+        if(!isEventStorage()) {
+            // 다른 기기에 열려있는 SSE 연결에도 읽음 처리된 개수 전달
+            pushUncheckedCount(userIdx);
+            return rows;
+        }
+
+        List<NotificationOutput> events = noticeEventMapper.findFeedByUserIdx(userIdx);
+        if(!events.isEmpty())
+            noticeEventMapper.updateReadWatermark(userIdx, events.get(0).getNotificationIdx());
+
+        // 두 워터마크를 모두 올린 뒤에 전달해야 공고 이벤트 알람까지 읽음 처리된 개수가 감
+        pushUncheckedCount(userIdx);
+
+        // 두 목록을 생성시간 최신순으로 합침
+        List<NotificationOutput> feed = new ArrayList<>(rows.size() + events.size());
+        feed.addAll(rows);
+        feed.addAll(events);
+        feed.sort(Comparator.comparingLong(NotificationOutput::getCreatedAt).reversed());
+        return feed;
+    }
+
+    // 읽지않은 알람 개수 조회
+    public int countUnchecked(final int userIdx) {
+        int count = notificationMapper.countUnchecked(userIdx);
+        if(isEventStorage())
+            count += noticeEventMapper.countUnchecked(userIdx);
+        return count;
+    }
+
+
+    // SSE 연결 열기 - 연결 직후 현재 읽지않은 알람 개수를 한번 보냄. 최대 연결 수를 넘으면 null
+    public SseEmitter openStream(final int userIdx) {
+        final SseEmitter emitter = notificationStreamRegistry.connect(userIdx);
+        if(emitter != null)
+            pushUncheckedCount(userIdx);
+        return emitter;
+    }
+
+    // 알람 저장 트랜잭션이 커밋된 후에 연결된 유저들에게만 새 알람 요약 + 읽지않은 알람 개수 전송
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotificationCreated(final NotificationCreatedEvent event) {
+        if(notificationStreamRegistry.isEmpty())
+            return;
+
+        HashMap<String, Object> summary = new HashMap<>();
+        summary.put("noticeIdx", event.getNoticeIdx());
+        summary.put("alertType", event.getAlertType());
+        summary.put("message", event.getMessage());
+
+        for(int userIdx : event.getUserIdxList()) {
+            if(!notificationStreamRegistry.isConnected(userIdx))
+                continue;
+            notificationStreamRegistry.send(userIdx, "notification", summary);
+            pushUncheckedCount(userIdx);
+        }
+    }
+
+    // 연결된 유저에게 읽지않은 알람 개수 전송 - /users/notification/unchecked 응답의 data 와 같은 형태
+    private void pushUncheckedCount(final int userIdx) {
+        if(!notificationStreamRegistry.isConnected(userIdx))
+            return;
+
+        HashMap<String, Integer> map = new HashMap<>();
+        map.put("num", countUnchecked(userIdx));
+        notificationStreamRegistry.send(userIdx, "unchecked", map);
+    }
+}
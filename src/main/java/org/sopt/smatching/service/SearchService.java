@@ -4,7 +4,10 @@ import lombok.extern.slf4j.Slf4j;
 import org.sopt.smatching.mapper.SearchMapper;
 import org.sopt.smatching.model.DefaultRes;
 import org.sopt.smatching.model.notice.NoticeSummary;
+import org.sopt.smatching.utils.ReadCountBuffer;
 import org.sopt.smatching.utils.ResponseMessage;
+import org.sopt.smatching.utils.ScrapCache;
+import org.sopt.smatching.utils.ScrapCountBuffer;
 import org.sopt.smatching.utils.StatusCode;
 import org.sopt.smatching.utils.auth.AuthAspect;
 import org.springframework.stereotype.Service;
@@ -19,10 +22,17 @@ public class SearchService {
 
     private SearchMapper searchMapper;
     private JwtService jwtService;
+    private ReadCountBuffer readCountBuffer;
+    private ScrapCache scrapCache;
+    private ScrapCountBuffer scrapCountBuffer;
 
-    public SearchService(SearchMapper searchMapper, JwtService jwtService) {
+    public SearchService(SearchMapper searchMapper, JwtService jwtService, ReadCountBuffer readCountBuffer, ScrapCache scrapCache,
+                         ScrapCountBuffer scrapCountBuffer) {
         this.searchMapper = searchMapper;
         this.jwtService = jwtService;
+        this.readCountBuffer = readCountBuffer;
+        this.scrapCache = scrapCache;
+        this.scrapCountBuffer = scrapCountBuffer;
     }
 
 
@@ -35,9 +45,10 @@ public class SearchService {
     // 전체 지원사업 검색 기능
     public DefaultRes fromEverywhere(String jwt, String query, int reqNum, int existNum) {
 
-        List<NoticeSummary> notices;
+        // 회원/비회원 모두 같은 검색 쿼리 사용 - scrap 은 0 으로 채워짐
+        List<NoticeSummary> notices = searchMapper.noticeFromEverywhere(query, reqNum, existNum);
 
-        // 토큰 있으면 검색어 저장하고 스크랩 여부와 조인하는 쿼리 사용
+        // 토큰 있으면 검색어 저장하고 스크랩 여부를 유저별 스크랩 캐시로 채움
         if(!(jwt == null || jwt == "")) {
             // 토큰 해독
             final JwtService.Token token = jwtService.decode(jwt);
@@ -54,18 +65,15 @@ public class SearchService {
                 log.error("\n- Exception Detail (below)", e);
             }
 
-            // 검색 쿼리 (스크랩 여부까지)
-            notices = searchMapper.noticeFromEverywhereIncScrap(userIdx, query, reqNum, existNum);
-        }
-        // 토큰 없으면 스크랩 여부 없이 검색하는 쿼리만 사용 - scarp 은 무조건 0 으로 채워짐
-        else {
-            notices = searchMapper.noticeFromEverywhere(query, reqNum, existNum);
+            scrapCache.overlay(userIdx, notices);
         }
 
 
         if(notices.isEmpty())
             return DefaultRes.res(StatusCode.NO_CONTENT, ResponseMessage.SEARCH_NO_RESULT);
 
+        readCountBuffer.overlay(notices);
+        scrapCountBuffer.overlay(notices);
         return DefaultRes.res(StatusCode.OK, ResponseMessage.SEARCH_SUCCESS, notices);
     }
 
@@ -103,6 +111,8 @@ public class SearchService {
         if(notices.isEmpty())
             return DefaultRes.res(StatusCode.NO_CONTENT, ResponseMessage.SEARCH_NO_RESULT);
 
+        readCountBuffer.overlay(notices);
+        scrapCountBuffer.overlay(notices);
         return DefaultRes.res(StatusCode.OK, ResponseMessage.SEARCH_SUCCESS, notices);
     }
 
@@ -2,7 +2,6 @@ package org.sopt.smatching.service;
 
 
 import lombok.extern.slf4j.Slf4j;
-import org.sopt.smatching.mapper.NotificationMapper;
 import org.sopt.smatching.model.notification.NotificationOutput;
 import org.sopt.smatching.model.user.User;
 import org.sopt.smatching.model.user.UserInfo;
@@ -18,6 +17,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.interceptor.TransactionAspectSupport;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.Date;
 import java.util.HashMap;
@@ -30,14 +30,14 @@ public class UserService {
     private JwtService jwtService;
     private S3FileUploadService s3FileUploadService;
     private UserMapper userMapper;
-    private NotificationMapper notificationMapper;
+    private NotificationService notificationService;
 
 
-    public UserService(JwtService jwtService, S3FileUploadService s3FileUploadService, UserMapper userMapper, NotificationMapper notificationMapper) {
+    public UserService(JwtService jwtService, S3FileUploadService s3FileUploadService, UserMapper userMapper, NotificationService notificationService) {
         this.jwtService = jwtService;
         this.s3FileUploadService = s3FileUploadService;
         this.userMapper = userMapper;
-        this.notificationMapper = notificationMapper;
+        this.notificationService = notificationService;
     }
 
     // 로그인 기능
@@ -165,31 +165,35 @@ public class UserService {
     }
 
     @Transactional
-    // 유저의 모든 알람내역 조회
+    // 유저의 모든 알람내역 조회 - 조회된 알람까지는 모두 읽은 상태로 바뀜
     public DefaultRes getNotificationList(final int userIdx) {
-        List<NotificationOutput> list = notificationMapper.findAllByUserIdx(userIdx);
+        List<NotificationOutput> list = notificationService.readFeed(userIdx);
 
         if(list.isEmpty())
             return DefaultRes.res(StatusCode.NO_CONTENT, ResponseMessage.NOT_FOUND_NOTIFICATION);
 
-        // 경과 시간 계산해서 String 으로 다시 저장
+        // 경과 시간 계산해서 String 으로 저장 - 현재시간은 요청당 한번만 구함
+        final long now = System.currentTimeMillis();
         for(NotificationOutput notificationOutput : list) {
-            notificationOutput.writeOutputTime();
+            notificationOutput.writeOutputTime(now);
         }
 
-        // 읽지 않은 알람이 있으면 모두 읽은 상태로 바꿈 (리턴이 0이 올수도 있어서 updatedRow 확인 로직 넣지않음)
-        notificationMapper.changeToRead(userIdx);
-
         return DefaultRes.res(StatusCode.OK, ResponseMessage.READ_NOTIFICATION, list);
     }
 
 
     // 읽지않은 사용자 알람 개수 조회
     public DefaultRes getUncheckedNotificationCount(final int userIdx) {
-        int count = notificationMapper.countUnchecked(userIdx);
+        int count = notificationService.countUnchecked(userIdx);
 
         return DefaultRes.res(StatusCode.OK, ResponseMessage.READ_NOTIFICATION, new HashMap<String, Integer>() {{
             put("num", count);
         }});
     }
+
+
+    // 읽지않은 알람 개수 + 새 알람 SSE 스트림 연결
+    public SseEmitter openNotificationStream(final int userIdx) {
+        return notificationService.openStream(userIdx);
+    }
 }
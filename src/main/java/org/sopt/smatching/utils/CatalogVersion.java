@@ -0,0 +1,138 @@
+package org.sopt.smatching.utils;
+
+import lombok.extern.slf4j.Slf4j;
+import org.sopt.smatching.mapper.NoticeChangeMapper;
+import org.sopt.smatching.model.notice.NoticeChange;
+import org.sopt.smatching.model.notice.NoticeChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 공고 목록(카탈로그) 버전 - 조건부 GET(ETag / If-None-Match)에 사용
+ * 버전은 모든 서버가 같이 쓰는 notice_change 의 changeidx 라서 어느 서버가 응답해도 같은 목록이면 같은 ETag
+ * NOTICE.CHANGES.POLL_MS 마다 새 변경 로그를 조회해서 다른 서버에서 일어난 추가/비활성화/만료도 NoticeChangedEvent 로 다시 발행함
+ * (NoticeSnapshot, NoticeDetailCache 등은 이 이벤트로 갱신 - 이 서버에서 일어난 변경은 한번 더 받게 됨)
+ * 전체 버전은 settleSec 보다 오래된 변경 로그까지만 올림 - 먼저 번호를 받고 늦게 커밋된 변경을 반영하기 전에 버전이 지나가지 않도록
+ */
+@Slf4j
+@Component
+public class CatalogVersion {
+
+    // 변경 로그가 이 시간(초)보다 오래되면 앞 번호가 더 생기지 않는다고 봄 - /notices/changes 와 같은 값
+    @Value("${NOTICE.CHANGES.SETTLE_SEC:10}")
+    private int settleSec;
+
+    // 변경 로그 조회 1번에 읽을 최대 row 수
+    @Value("${NOTICE.CHANGES.MAX:500}")
+    private int pageSize;
+
+    // 조회수/스크랩 수 증감분은 서버마다 따로 반영하므로 그 버전에는 서버 시작 시각을 넣어서 다른 서버의 같은 번호와 겹치지 않게 함
+    private final String bootId = Long.toString(System.currentTimeMillis(), 36);
+
+    private NoticeChangeMapper noticeChangeMapper;
+    private ApplicationEventPublisher eventPublisher;
+
+    // 이 값 이하의 변경 로그는 모두 반영됨, 시작 전이면 -1
+    private final AtomicLong version = new AtomicLong(-1);
+    // 서버 시작시의 version - 이후 바뀐 적 없는 공고의 버전
+    private volatile long baseVersion;
+    private final AtomicLong counterVersion = new AtomicLong();
+    // noticeIdx -> 마지막으로 반영한 변경의 changeidx
+    private final Map<Integer, Long> noticeVersions = new ConcurrentHashMap<>();
+    // version 보다 크지만 이미 반영한 changeidx (poll 에서만 사용)
+    private final Set<Long> applied = new HashSet<>();
+
+    public CatalogVersion(NoticeChangeMapper noticeChangeMapper, ApplicationEventPublisher eventPublisher) {
+        this.noticeChangeMapper = noticeChangeMapper;
+        this.eventPublisher = eventPublisher;
+    }
+
+
+    // 전체 목록/개수용 ETag (시작 전에는 다른 서버와 겹치지 않는 값)
+    public String catalogTag() {
+        final long current = version.get();
+        return current < 0 ? bootId + "-boot" : "c" + current;
+    }
+
+    // 조회수/스크랩 수가 들어간 목록용 ETag - 증감분이 DB 에 반영될때마다 바뀜
+    public String listTag() {
+        return catalogTag() + "-" + bootId + "-" + counterVersion.get();
+    }
+
+    // 공고 1개 상세내용용 ETag
+    public String noticeTag(final int noticeIdx) {
+        if(version.get() < 0)
+            return bootId + "-boot-n" + noticeIdx;
+        return "n" + noticeIdx + "-" + noticeVersions.getOrDefault(noticeIdx, baseVersion);
+    }
+
+    // ReadCountBuffer, ScrapCountBuffer 가 증감분을 반영한 뒤 호출
+    public void countersChanged() {
+        counterVersion.incrementAndGet();
+    }
+
+
+    // 캐시들은 시작 시점의 DB 로 만들어지므로, 아직 정착하지 않은 변경도 이미 반영된 것으로 보고 시작
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void init() {
+        final long settled = noticeChangeMapper.findSettledMaxChangeIdx(settleSec);
+        for(NoticeChange change : findSince(settled)) {
+            applied.add(change.getChangeIdx());
+            noticeVersions.merge(change.getNoticeIdx(), change.getChangeIdx(), Math::max);
+        }
+        baseVersion = settled;
+        version.set(settled);
+        log.info("- CatalogVersion started at changeIdx : " + settled);
+    }
+
+    // 새 변경 로그를 이벤트로 발행해서 캐시를 먼저 갱신한 뒤 버전을 올림 - 새 ETag 로 예전 내용이 캐시되지 않도록
+    @Scheduled(fixedDelayString = "${NOTICE.CHANGES.POLL_MS:3000}")
+    public synchronized void poll() {
+        final long current = version.get();
+        if(current < 0)
+            return;
+
+        final Map<NoticeChangedEvent.Type, List<Integer>> fresh = new EnumMap<>(NoticeChangedEvent.Type.class);
+        final Map<Integer, Long> freshVersions = new HashMap<>();
+        long settled = current;
+        boolean unsettled = false;
+        for(NoticeChange change : findSince(current)) {
+            if(applied.add(change.getChangeIdx())) {
+                fresh.computeIfAbsent(NoticeChangedEvent.Type.valueOf(change.getType()), type -> new ArrayList<>()).add(change.getNoticeIdx());
+                freshVersions.merge(change.getNoticeIdx(), change.getChangeIdx(), Math::max);
+            }
+
+            // 정착하지 않은 row 가 나오면 그 뒤로는 버전을 올리지 않음
+            if(!change.isSettled())
+                unsettled = true;
+            else if(!unsettled)
+                settled = change.getChangeIdx();
+        }
+
+        fresh.forEach((type, noticeIdxList) -> eventPublisher.publishEvent(new NoticeChangedEvent(type, noticeIdxList)));
+        freshVersions.forEach((noticeIdx, changeIdx) -> noticeVersions.merge(noticeIdx, changeIdx, Math::max));
+
+        final long newVersion = settled;
+        applied.removeIf(changeIdx -> changeIdx <= newVersion);
+        version.set(newVersion);
+    }
+
+    private List<NoticeChange> findSince(long since) {
+        final List<NoticeChange> changes = new ArrayList<>();
+        while(true) {
+            final List<NoticeChange> page = noticeChangeMapper.findSince(since, pageSize, settleSec);
+            changes.addAll(page);
+            if(page.size() < pageSize)
+                return changes;
+            since = page.get(page.size() - 1).getChangeIdx();
+        }
+    }
+}
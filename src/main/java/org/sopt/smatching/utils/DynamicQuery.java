@@ -4,16 +4,17 @@ import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.jdbc.SQL;
 import org.sopt.smatching.model.cond.Cond;
 import org.sopt.smatching.model.notice.Notice;
+import org.sopt.smatching.model.notification.AlertType;
 
 public class DynamicQuery {
 
     // NoticeMapper 에서 사용
-    public String findFitNoticeSummaryWithScrap(@Param("cond") final Cond cond) {
+    // 스크랩 여부는 조인하지 않고 ScrapCache 로 채움 - 회원/비회원 모두 같은 쿼리
+    public String findFitNoticeSummary(@Param("cond") final Cond cond) {
         return new SQL() {{
 
-            SELECT("notice.noticeIdx, notice.title, notice.institution, DATEDIFF(notice.end_date, current_date) as dday, scrap_notice.scrap, notice.readcnt");
+            SELECT("notice.noticeIdx, notice.title, notice.institution, DATEDIFF(notice.end_date, current_date) as dday, notice.readcnt, notice.scrapcnt");
             FROM("notice");
-            LEFT_OUTER_JOIN("scrap_notice ON notice.noticeIdx = scrap_notice.noticeIdx AND scrap_notice.useridx = #{userIdx}");
             WHERE("notice.valid = 1");
             WHERE("notice.notfit = 0");
             ORDER_BY("notice.noticeIdx DESC");
@@ -83,4 +84,47 @@ public class DynamicQuery {
 
         }}.toString();
     }
+
+
+    // NoticeEventMapper 에서 사용 - getNotifiedUser 와 같은 매칭 조건을 쓰기 시점이 아닌 읽기 시점에 적용
+    public String findNoticeEventFeed() {
+        return new SQL() {{
+            SELECT("DISTINCT e.noticeeventidx AS notificationIdx, e.noticeidx, UNIX_TIMESTAMP(e.timestamp) * 1000 AS createdAt, '" + AlertType.NewNotice + "' AS alertType, n.title AS message, " +
+                    "IF(e.noticeeventidx > u.last_read_noticeeventidx, 0, 1) AS checked");
+            FROM("notice_event AS e");
+            INNER_JOIN("notice AS n ON n.noticeidx = e.noticeidx");
+            INNER_JOIN("cond AS c ON c.useridx = #{userIdx} AND c.alert = 1");
+            INNER_JOIN("user AS u ON u.useridx = c.useridx");
+            WHERE("e.noticeeventidx > c.alert_noticeeventidx"); // 맞춤조건의 알람을 켠 뒤의 공고 이벤트만
+            noticeMatchesCond(this);
+            ORDER_BY("e.noticeeventidx DESC");
+        }}.toString();
+    }
+
+    // NoticeEventMapper 에서 사용
+    public String countUncheckedNoticeEvent() {
+        return new SQL() {{
+            SELECT("COUNT(DISTINCT e.noticeeventidx)");
+            FROM("notice_event AS e");
+            INNER_JOIN("notice AS n ON n.noticeidx = e.noticeidx");
+            INNER_JOIN("cond AS c ON c.useridx = #{userIdx} AND c.alert = 1");
+            INNER_JOIN("user AS u ON u.useridx = c.useridx");
+            WHERE("e.noticeeventidx > u.last_read_noticeeventidx");
+            WHERE("e.noticeeventidx > c.alert_noticeeventidx");
+            noticeMatchesCond(this);
+        }}.toString();
+    }
+
+    // 공고(n)와 맞춤조건(c)의 매칭 조건 - getNotifiedUser 의 조건과 동일
+    private static void noticeMatchesCond(SQL sql) {
+        // 필수옵션들
+        sql.WHERE("c.period & n.period > 0"); // 설립 경과 년수
+        sql.WHERE("c.busitype & n.busitype > 0"); // 기업형태
+        sql.WHERE("c.field & n.field > 0"); // 업종
+        sql.WHERE("c.category & n.category > 0"); // 필요없는 지원사업분야
+
+        // 선택 옵션들
+        sql.WHERE("IF(c.location = 0, " + (int) (Math.pow(2, MultipleOption.LOCATIONS.length) - 1) + ", c.location) & n.location > 0");
+        sql.WHERE("IF(c.age = 0, " + (int) (Math.pow(2, MultipleOption.AGES.length) - 1) + ", c.age) & n.age > 0");
+    }
 }
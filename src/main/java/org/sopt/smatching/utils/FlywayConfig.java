@@ -0,0 +1,23 @@
+package org.sopt.smatching.utils;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// 서버 시작시 db/migration 의 스키마 변경(V1__, V2__ ...)을 순서대로 적용 - 적용된 버전은 flyway_schema_history 에 기록됨
+@Configuration
+public class FlywayConfig {
+
+    // 이미 테이블이 있는 DB 에 처음 적용할때 이 버전까지는 적용된 것으로 보고 건너뜀
+    // (V1 기본 테이블만 있으면 1, 손으로 돌린 스크립트가 더 있으면 그 버전까지)
+    @Value("${FLYWAY.BASELINE_VERSION:1}")
+    private String baselineVersion;
+
+    @Bean
+    public FlywayConfigurationCustomizer flywayConfigurationCustomizer() {
+        return configuration -> configuration
+                .baselineOnMigrate(true)
+                .baselineVersion(baselineVersion);
+    }
+}
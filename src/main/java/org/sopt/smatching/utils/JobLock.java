@@ -0,0 +1,192 @@
+package org.sopt.smatching.utils;
+
+import lombok.extern.slf4j.Slf4j;
+import org.sopt.smatching.mapper.JobLockMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.lang.management.ManagementFactory;
+import java.util.Date;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 여러 서버 중 한곳에서만 스케줄 작업을 실행하기 위한 DB 임대(lease) 락 - job_lock 테이블 사용
+ * 작업이 도는 동안에는 주기적으로 임대를 연장하고, 서버가 죽어서 연장이 멈추면 만료 후 다른 서버가 가져감
+ */
+@Slf4j
+@Component
+public class JobLock {
+
+    private final JobLockMapper jobLockMapper;
+    private final String holder; // 이 서버(프로세스)를 구분하는 값
+    private final long leaseMs;
+
+    // 지금 이 서버가 갖고 있는 락들 - jobName -> 펜싱 토큰
+    private final Map<String, Long> held = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService renewer;
+
+    @Autowired
+    public JobLock(JobLockMapper jobLockMapper, @Value("${SCHEDULER.LOCK.LEASE_MS:300000}") long leaseMs) {
+        this(jobLockMapper, ManagementFactory.getRuntimeMXBean().getName() + "-" + UUID.randomUUID().toString().substring(0, 8), leaseMs);
+    }
+
+    JobLock(JobLockMapper jobLockMapper, String holder, long leaseMs) {
+        this.jobLockMapper = jobLockMapper;
+        this.holder = holder;
+        this.leaseMs = leaseMs;
+    }
+
+
+    // 락을 잡으면 펜싱 토큰, 다른 서버가 갖고 있으면 0 리턴
+    public long tryAcquire(final String jobName) {
+        final long now = System.currentTimeMillis();
+        try {
+            if(jobLockMapper.insert(jobName, holder, new Date(now + leaseMs)) == 1) {
+                held.put(jobName, 1L);
+                return 1L;
+            }
+        } catch(DuplicateKeyException e) {
+            // 이미 row 가 있으면 아래에서 연장 또는 만료된 락 가져오기 시도
+        }
+
+        if(jobLockMapper.acquire(jobName, holder, new Date(now), new Date(now + leaseMs)) != 1)
+            return 0L;
+
+        final Long token = jobLockMapper.findToken(jobName, holder);
+        if(token == null)
+            return 0L;
+        held.put(jobName, token);
+        return token;
+    }
+
+    // 아직 같은 토큰으로 락을 갖고 있으면 임대 연장, 이미 뺏겼으면 false
+    public boolean renew(final String jobName) {
+        final Long token = held.get(jobName);
+        if(token == null)
+            return false;
+
+        final long now = System.currentTimeMillis();
+        if(jobLockMapper.renew(jobName, holder, token, new Date(now), new Date(now + leaseMs)) == 1)
+            return true;
+
+        held.remove(jobName);
+        log.error("@@@@@ JobLock lost!! job : " + jobName + ", token : " + token + " @@@@@");
+        return false;
+    }
+
+    public void release(final String jobName) {
+        final Long token = held.remove(jobName);
+        if(token != null)
+            jobLockMapper.release(jobName, holder, token, new Date());
+    }
+
+    public boolean isHeld(final String jobName) {
+        return held.containsKey(jobName);
+    }
+
+    public long getLeaseMs() {
+        return leaseMs;
+    }
+
+
+    // 락을 잡은 경우에만 작업 실행, 실행했으면 true
+    // 작업에는 이번에 받은 펜싱 토큰을 담은 Lease 를 넘김 - 작업은 구간마다 lease.isValid() 로 중단 여부를 보고, 쓰기 트랜잭션은 lease.fence() 로 막음
+    // 끝나도 바로 반납하지 않고 임대 만료까지 그대로 둠 - 서버간 시계 차이로 다른 서버가 조금 늦게 같은 작업을 시작해도 락을 못 잡게 하기 위함
+    // (따라서 임대시간은 서버간 시계 차이보다 충분히 길어야 함)
+    public boolean runIfLeader(final String jobName, final Job job) throws Exception {
+        final long token = tryAcquire(jobName);
+        if(token == 0L) {
+            log.info("- " + jobName + " skipped, lock is held by another node");
+            return false;
+        }
+
+        log.info("- " + jobName + " lock acquired, holder : " + holder + ", token : " + token);
+        try {
+            job.run(new Lease(jobName, token));
+        } finally {
+            held.remove(jobName); // 연장만 멈춤
+        }
+        return true;
+    }
+
+    public interface Job {
+        void run(Lease lease) throws Exception;
+    }
+
+    // runIfLeader 로 잡은 락 1번 - 작업이 끝나거나 연장에 실패하면 더 이상 유효하지 않음
+    public class Lease {
+        private final String jobName;
+        private final long token;
+
+        private Lease(String jobName, long token) {
+            this.jobName = jobName;
+            this.token = token;
+        }
+
+        public String getJobName() {
+            return jobName;
+        }
+
+        public long getToken() {
+            return token;
+        }
+
+        // 이 서버가 아직 같은 토큰으로 락을 갖고 있는지 - 연장에 실패했으면 false (다음 구간부터 중단)
+        public boolean isValid() {
+            return Objects.equals(held.get(jobName), token);
+        }
+
+        // 쓰기 트랜잭션 안에서 먼저 호출 - job_lock row 를 공유락으로 읽어서 토큰이 그대로인지 확인
+        // 커밋할때까지 다른 서버가 토큰을 올리지 못하므로, 락을 뺏긴 뒤에 늦게 도착한 쓰기는 반영되지 않음
+        public void fence() {
+            if(!TransactionSynchronizationManager.isActualTransactionActive())
+                throw new IllegalStateException("JobLock fence needs a transaction : " + jobName);
+
+            final Long current = jobLockMapper.findTokenForShare(jobName);
+            if(current == null || current != token)
+                throw new IllegalStateException("JobLock lost : " + jobName + ", token : " + token + ", current : " + current);
+        }
+    }
+
+
+    // 작업이 임대시간보다 오래 걸려도 뺏기지 않도록 잡고 있는 락들을 임대시간의 1/3 마다 연장
+    // 작업 자체가 스케줄러 스레드를 쓰고 있으므로 연장은 별도 스레드에서 실행
+    @PostConstruct
+    public void startRenewer() {
+        renewer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "job-lock-renewer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        final long period = Math.max(leaseMs / 3, 1000L);
+        renewer.scheduleWithFixedDelay(this::renewHeld, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stopRenewer() {
+        if(renewer != null)
+            renewer.shutdownNow();
+    }
+
+    void renewHeld() {
+        for(String jobName : held.keySet()) {
+            try {
+                renew(jobName);
+            } catch(Exception e) {
+                log.error("Exception Detail (below)", e);
+            }
+        }
+    }
+}
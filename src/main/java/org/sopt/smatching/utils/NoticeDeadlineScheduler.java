@@ -0,0 +1,137 @@
+package org.sopt.smatching.utils;
+
+import lombok.extern.slf4j.Slf4j;
+import org.sopt.smatching.model.notification.AlertType;
+import org.sopt.smatching.service.NoticeService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * 공고별 리마인더/만료를 하루 1번 스캔보다 빨리 처리하는 스케줄러
+ * 락(JobLock)을 가진 서버가 SCHEDULER.DEADLINE_POLL_SEC 마다 DB 에서 처리할 공고를 다시 조회함
+ * - 만료 : valid = 1 AND end_date < 오늘 인 공고 비활성화
+ * - 리마인더 : 보낼 시각이 지난 마감일의 공고 중 아직 알람이 저장되지 않은 (공고, 유저) 쌍에만 전송
+ * 큐를 서버 메모리에 두지 않으므로 다른 서버에서 추가된 공고, 락을 못 잡은 동안의 작업, 서버가 꺼져있던 동안 지난 리마인더도 다음 조회때 처리됨
+ * SCHEDULER.DEADLINE_WHEEL=true 일때만 동작하고, NoticeScheduler 의 매일 스캔은 그대로 안전장치로 실행됨 (둘 다 같은 알람을 두번 저장하지 않음)
+ */
+@Slf4j
+@Component
+public class NoticeDeadlineScheduler {
+
+    // 리마인더 종류 - 마감 며칠 전에 어떤 알람을 보낼지. D-7, D-1 등은 AlertType 추가 후 여기에 한줄 추가하면 됨
+    private static final ReminderOffset[] REMINDER_OFFSETS = {
+            new ReminderOffset(3, AlertType.ThreeDaysLeft)
+    };
+
+    @Value("${SCHEDULER.DEADLINE_WHEEL:false}")
+    private boolean enabled;
+
+    // 리마인더를 보낼 시각 (기존 cron 과 같은 18:30)
+    @Value("${SCHEDULER.REMINDER_TIME:18:30}")
+    private String reminderTime;
+
+    // DB 를 다시 조회하는 주기(초) - 만료/리마인더가 늦어지는 최대 시간
+    @Value("${SCHEDULER.DEADLINE_POLL_SEC:60}")
+    private int pollSec;
+
+    private NoticeService noticeService;
+    private JobLock jobLock;
+
+    private Thread worker;
+
+    public NoticeDeadlineScheduler(NoticeService noticeService, JobLock jobLock) {
+        this.noticeService = noticeService;
+        this.jobLock = jobLock;
+    }
+
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // 서버 시작시 실행 스레드 시작 - 시작 직후 1번 바로 조회해서 꺼져있던 동안 지난 작업부터 처리
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if(!enabled)
+            return;
+
+        log.info("@@@@@ NoticeDeadlineScheduler START!! @@@@@\n- Poll every " + pollSec + " sec, reminder time : " + reminderTime);
+        worker = new Thread(this::run, "notice-deadline-scheduler");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if(worker != null)
+            worker.interrupt();
+    }
+
+
+    private void run() {
+        while(!Thread.currentThread().isInterrupted()) {
+            // 여러 서버 중 락을 잡은 한 곳에서만 실행 - 못 잡은 서버는 다음 주기에 다시 시도
+            try {
+                jobLock.runIfLeader("noticeDeadlineScheduler", this::poll);
+            } catch(Exception e) {
+                log.error("@@@@@ NoticeDeadlineScheduler fail!! @@@@@");
+                log.error("Exception Detail (below)", e);
+            }
+
+            try {
+                Thread.sleep(pollSec * 1000L);
+            } catch(InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private void poll(final JobLock.Lease lease) {
+        final List<Integer> expired = noticeService.findExpiredNotices();
+        if(!expired.isEmpty()) {
+            try {
+                noticeService.expireNotices(expired, lease);
+                log.info("- Expired noticeIdx List : " + expired);
+            } catch(Exception e) {
+                log.error("@@@@@ NoticeDeadlineScheduler expire fail!! @@@@@");
+                log.error("Exception Detail (below)", e);
+            }
+        }
+
+        // 오늘 보낼 시각이 지났으면 오늘 보낼 리마인더, 아직이면 어제 보냈어야 할 리마인더 중 빠진 것
+        final LocalDate today = LocalDate.now();
+        final boolean afterReminderTime = !LocalTime.now().isBefore(LocalTime.parse(reminderTime));
+        for(ReminderOffset offset : REMINDER_OFFSETS) {
+            if(!lease.isValid()) // 락을 뺏겼으면 나머지는 락을 가져간 서버가 처리
+                return;
+
+            final LocalDate endDate = today.plusDays(afterReminderTime ? offset.days : offset.days - 1);
+            try {
+                final List<Integer> notices = noticeService.notifyUnsentReminders(endDate, offset.alertType, lease);
+                if(!notices.isEmpty())
+                    log.info("- " + offset.alertType + " reminder sent, noticeIdx List : " + notices);
+            } catch(Exception e) {
+                log.error("@@@@@ NoticeDeadlineScheduler reminder fail!! endDate : " + endDate + " @@@@@");
+                log.error("Exception Detail (below)", e);
+            }
+        }
+    }
+
+
+    private static class ReminderOffset {
+        private final int days;
+        private final AlertType alertType;
+
+        private ReminderOffset(int days, AlertType alertType) {
+            this.days = days;
+            this.alertType = alertType;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package org.sopt.smatching.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.sopt.smatching.model.notice.NoticeChangedEvent;
+import org.sopt.smatching.model.notice.NoticeDetail;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 공고 상세내용 캐시 - NoticeDetail 을 JSON 바이트로 직렬화해서 힙 바깥(direct buffer)에 저장
+ * 본문 텍스트가 커서 힙에 두면 GC 부담이 크기 때문에 힙에는 noticeIdx 와 버퍼 참조만 남김
+ * 전체 바이트 수가 최대값을 넘으면 가장 오래 안 쓴 것부터 지움 (LRU), 공고가 추가/비활성화되면 해당 공고를 지움
+ */
+@Slf4j
+@Component
+public class NoticeDetailCache {
+
+    // 캐시에 쓸 최대 바이트 수, 0 이면 캐시 사용 안함
+    @Value("${NOTICE.DETAIL_CACHE_MAX_BYTES:67108864}")
+    private long maxBytes;
+
+    private ObjectMapper objectMapper;
+
+    // noticeIdx -> 직렬화된 상세내용, 접근 순서로 정렬 (this 로 동기화)
+    private final LinkedHashMap<Integer, ByteBuffer> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long usedBytes;
+
+    private final AtomicLong hitCnt = new AtomicLong();
+    private final AtomicLong missCnt = new AtomicLong();
+    private final AtomicLong evictCnt = new AtomicLong();
+
+    public NoticeDetailCache(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+
+    // 캐시에 있으면 역직렬화해서 리턴, 없으면 null
+    public NoticeDetail get(final int noticeIdx) {
+        if(maxBytes <= 0)
+            return null;
+
+        final ByteBuffer buffer;
+        synchronized(this) {
+            buffer = entries.get(noticeIdx);
+        }
+        if(buffer == null) {
+            missCnt.incrementAndGet();
+            return null;
+        }
+
+        // 버퍼는 저장 이후 바뀌지 않으므로 읽기용 복사본(duplicate)으로 락 밖에서 읽음
+        final ByteBuffer view = buffer.duplicate();
+        final byte[] bytes = new byte[view.remaining()];
+        view.get(bytes);
+        try {
+            final NoticeDetail detail = objectMapper.readValue(bytes, NoticeDetail.class);
+            hitCnt.incrementAndGet();
+            return detail;
+        } catch(IOException e) {
+            invalidate(noticeIdx);
+            missCnt.incrementAndGet();
+            return null;
+        }
+    }
+
+    // 역직렬화 없이 캐시에 있는지만 확인 (LRU 순서도 바꾸지 않음)
+    public synchronized boolean contains(final int noticeIdx) {
+        return entries.containsKey(noticeIdx);
+    }
+
+    public void put(final int noticeIdx, final NoticeDetail detail) {
+        if(maxBytes <= 0)
+            return;
+
+        final byte[] bytes;
+        try {
+            bytes = objectMapper.writeValueAsBytes(detail);
+        } catch(IOException e) {
+            log.error("@@@@@ NoticeDetailCache serialize fail!! noticeIdx : " + noticeIdx + " @@@@@");
+            return;
+        }
+        if(bytes.length > maxBytes)
+            return;
+
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes);
+        buffer.flip();
+
+        synchronized(this) {
+            final ByteBuffer old = entries.put(noticeIdx, buffer);
+            if(old != null)
+                usedBytes -= old.capacity();
+            usedBytes += bytes.length;
+
+            // 가장 오래 안 쓴 것부터 지움 - 지운 direct buffer 는 참조가 없어지면 GC 가 해제함
+            final Iterator<Map.Entry<Integer, ByteBuffer>> it = entries.entrySet().iterator();
+            while(usedBytes > maxBytes && it.hasNext()) {
+                final Map.Entry<Integer, ByteBuffer> eldest = it.next();
+                if(eldest.getKey() == noticeIdx)
+                    continue;
+                usedBytes -= eldest.getValue().capacity();
+                it.remove();
+                evictCnt.incrementAndGet();
+            }
+        }
+    }
+
+    public synchronized void invalidate(final int noticeIdx) {
+        final ByteBuffer old = entries.remove(noticeIdx);
+        if(old != null)
+            usedBytes -= old.capacity();
+    }
+
+    // 관리자가 공고를 추가/비활성화하거나 만료되면 해당 공고 삭제 - 다른 서버에서 일어난 변경도 CatalogVersion 을 통해 받음
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNoticeChanged(final NoticeChangedEvent event) {
+        for(int noticeIdx : event.getNoticeIdxList())
+            invalidate(noticeIdx);
+    }
+
+
+    // 관리자 페이지용 - 적중/실패 횟수와 사용중인 바이트 수
+    public Map<String, Object> getStats() {
+        final HashMap<String, Object> map = new HashMap<>();
+        final long hit = hitCnt.get();
+        final long miss = missCnt.get();
+        synchronized(this) {
+            map.put("entries", entries.size());
+            map.put("usedBytes", usedBytes);
+        }
+        map.put("maxBytes", maxBytes);
+        map.put("hit", hit);
+        map.put("miss", miss);
+        map.put("evict", evictCnt.get());
+        map.put("hitRatio", hit + miss == 0 ? 0.0 : (double) hit / (hit + miss));
+        return map;
+    }
+}
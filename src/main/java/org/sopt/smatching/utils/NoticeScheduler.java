@@ -1,29 +1,54 @@
 package org.sopt.smatching.utils;
 
 import lombok.extern.slf4j.Slf4j;
+import org.sopt.smatching.model.job.JobStats;
 import org.sopt.smatching.service.NoticeService;
+import org.sopt.smatching.utils.job.ChunkedJobExecutor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
+import javax.annotation.PostConstruct;
 
 @Slf4j
 @Component
 public class NoticeScheduler {
 
     private NoticeService noticeService;
+    private JobLock jobLock;
+    private ChunkedJobExecutor chunkedJobExecutor;
 
-    public NoticeScheduler(NoticeService noticeService) {
+    // 작업을 noticeIdx 몇개 단위 구간으로 나눌지
+    @Value("${SCHEDULER.JOB_CHUNK_SIZE:1000}")
+    private int jobChunkSize;
+
+    public NoticeScheduler(NoticeService noticeService, JobLock jobLock, ChunkedJobExecutor chunkedJobExecutor) {
         this.noticeService = noticeService;
+        this.jobLock = jobLock;
+        this.chunkedJobExecutor = chunkedJobExecutor;
+    }
+
+    @PostConstruct
+    public void registerJobs() {
+        chunkedJobExecutor.register("scanExpiredNoticesToInvalidation", jobChunkSize,
+                noticeService::findValidNoticeIdxRange, noticeService::expireNoticesInRange);
+        chunkedJobExecutor.register("scanD_3NoticesToNotify", jobChunkSize,
+                noticeService::findValidNoticeIdxRange, noticeService::notifyD_3InRange);
+        chunkedJobExecutor.register("reconcileScrapCnt", jobChunkSize,
+                noticeService::findValidNoticeIdxRange, noticeService::reconcileScrapCntInRange);
     }
 
     // 매일 0시 1분에 만료된 공고 비활성화
+    // NoticeDeadlineScheduler 가 켜져있어도 안전장치로 실행 - 이미 비활성화된 공고는 다시 처리하지 않음
     @Scheduled(cron = "1 0 0 * * *") // 초, 분, 시, 일, 월, 요일 -> 매일 0시0분1초에 실행
     public void scanExpiredNoticesToInvalidation() {
         log.info("@@@@@ scanExpiredNoticesToInvalidation Method START!! @@@@@");
         try {
-            List<Integer> list = noticeService.scanExpiredNoticesToInvalidation();
-            log.info("@@@@@ scanExpiredNoticesToInvalidation Method DONE!! @@@@@\n- Invalidated noticeIdx List : " + list.toString() + "\n\n");
+            // 여러 서버 중 락을 잡은 한 곳에서만 실행
+            jobLock.runIfLeader("scanExpiredNoticesToInvalidation", lease -> {
+                JobStats stats = chunkedJobExecutor.run("scanExpiredNoticesToInvalidation", lease);
+                log.info("@@@@@ scanExpiredNoticesToInvalidation Method " + stats.getStatus() + "!! @@@@@\n- Invalidated notices : " + stats.getItems() + "\n\n");
+            });
 
         } catch(Exception e) {
             log.error("@@@@@ scanExpiredNoticesToInvalidation Method fail!! @@@@@");
@@ -33,17 +58,58 @@ public class NoticeScheduler {
 
 
     // 매일 18시 30분에 스크랩 된 공고들을 스캔해서 dday가 3일 남은건 알람을 줌
+    // NoticeDeadlineScheduler 가 켜져있어도 안전장치로 실행 - 이미 저장된 알람은 INSERT IGNORE 로 건너뜀
     @Scheduled(cron = "0 30 18 * * *")
     public void scanD_3NoticesToNotify() {
         log.info("@@@@@ scanD_3NoticesToNotify Method START!! @@@@@");
         try {
-            List<Integer> list = noticeService.scanD_3NoticesToNotify();
-            log.info("@@@@@ scanD_3NoticesToNotify Method DONE!! @@@@@\n- D_3 noticeIdx List : " + list.toString() + "\n\n");
+            // 여러 서버 중 락을 잡은 한 곳에서만 실행
+            jobLock.runIfLeader("scanD_3NoticesToNotify", lease -> {
+                JobStats stats = chunkedJobExecutor.run("scanD_3NoticesToNotify", lease);
+                log.info("@@@@@ scanD_3NoticesToNotify Method " + stats.getStatus() + "!! @@@@@\n- D_3 notices : " + stats.getItems() + "\n\n");
+            });
 
         } catch(Exception e) {
             log.error("@@@@@ scanD_3NoticesToNotify Method fail!! @@@@@");
             log.error("Exception Detail (below)", e);
         }
     }
-    
+
+
+    // 매일 4시에 공고별 스크랩 수를 scrap_notice 기준으로 다시 맞춤 - 공고 전체를 다시 세는 안전장치
+    // ScrapCountBuffer 도 다시 센 값을 쓰므로 각 서버에 남은 증감분이 이 값에 더해지지 않음
+    @Scheduled(cron = "0 0 4 * * *")
+    public void reconcileScrapCnt() {
+        log.info("@@@@@ reconcileScrapCnt Method START!! @@@@@");
+        try {
+            // 여러 서버 중 락을 잡은 한 곳에서만 실행
+            jobLock.runIfLeader("reconcileScrapCnt", lease -> {
+                JobStats stats = chunkedJobExecutor.run("reconcileScrapCnt", lease);
+                log.info("@@@@@ reconcileScrapCnt Method " + stats.getStatus() + "!! @@@@@\n- Reconciled notices : " + stats.getItems() + "\n\n");
+            });
+
+        } catch(Exception e) {
+            log.error("@@@@@ reconcileScrapCnt Method fail!! @@@@@");
+            log.error("Exception Detail (below)", e);
+        }
+    }
+
+
+    // 매일 4시 30분에 보관 기간이 지난 공고 변경 로그 삭제
+    @Scheduled(cron = "0 30 4 * * *")
+    public void pruneNoticeChanges() {
+        log.info("@@@@@ pruneNoticeChanges Method START!! @@@@@");
+        try {
+            // 여러 서버 중 락을 잡은 한 곳에서만 실행
+            jobLock.runIfLeader("pruneNoticeChanges", lease -> {
+                int rowCnt = noticeService.pruneNoticeChanges(lease);
+                log.info("@@@@@ pruneNoticeChanges Method SUCCESS!! @@@@@\n- Deleted changes : " + rowCnt + "\n\n");
+            });
+
+        } catch(Exception e) {
+            log.error("@@@@@ pruneNoticeChanges Method fail!! @@@@@");
+            log.error("Exception Detail (below)", e);
+        }
+    }
+
 }
@@ -0,0 +1,167 @@
+package org.sopt.smatching.utils;
+
+import lombok.extern.slf4j.Slf4j;
+import org.sopt.smatching.mapper.NoticeMapper;
+import org.sopt.smatching.model.notice.NoticeChangedEvent;
+import org.sopt.smatching.model.notice.NoticeSummary;
+import org.sopt.smatching.model.notice.NoticeSummaryRow;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 활성화된 전체 공고 목록(noticeIdx 내림차순)을 메모리에 들고 있는 스냅샷 - 홈 화면 목록과 전체 개수를 DB 없이 응답
+ * 스냅샷은 만든 뒤 바꾸지 않고, 공고가 추가/비활성화되거나 자정이 되면 새로 만들어서 통째로 교체함
+ * dday 는 마감일(epoch day)을 들고 있다가 응답할때 계산
+ * 조회수/스크랩 수만 예외로, DB 에 반영될때 스냅샷에도 같이 반영함 (다음 교체때 DB 값으로 다시 맞춰짐)
+ */
+@Slf4j
+@Component
+public class NoticeSnapshot {
+
+    private NoticeMapper noticeMapper;
+
+    private volatile Snapshot snapshot;
+
+    public NoticeSnapshot(NoticeMapper noticeMapper) {
+        this.noticeMapper = noticeMapper;
+    }
+
+
+    public int count() {
+        return get().entries.length;
+    }
+
+    // 활성화된 공고인지
+    public boolean contains(final int noticeIdx) {
+        return get().byIdx.containsKey(noticeIdx);
+    }
+
+    // existNum 번째부터 reqNum 개 - 응답마다 새 객체로 만들어서 스크랩 여부 등을 채워도 스냅샷은 바뀌지 않음
+    public List<NoticeSummary> page(final int reqNum, final int existNum) {
+        final Entry[] entries = get().entries;
+        if(existNum < 0 || reqNum <= 0 || existNum >= entries.length)
+            return Collections.emptyList();
+
+        final long today = LocalDate.now().toEpochDay();
+        final int end = (int) Math.min((long) existNum + reqNum, entries.length);
+        final List<NoticeSummary> list = new ArrayList<>(end - existNum);
+        for(int i = existNum; i < end; i++)
+            list.add(entries[i].toSummary(today));
+        return list;
+    }
+
+    // DB 에 반영된 조회수/스크랩 수 증가분을 스냅샷에도 반영 - ReadCountBuffer, ScrapCountBuffer 사용
+    public void addReadCnt(final Map<Integer, Long> deltas) {
+        final Snapshot current = snapshot;
+        if(current == null)
+            return;
+        deltas.forEach((noticeIdx, delta) -> {
+            final Entry entry = current.byIdx.get(noticeIdx);
+            if(entry != null)
+                entry.readCnt.addAndGet(delta);
+        });
+    }
+
+    // 스크랩 수는 DB 에서 다시 센 값으로 덮어씀
+    public void setScrapCnt(final List<NoticeSummaryRow> rows) {
+        final Snapshot current = snapshot;
+        if(current == null)
+            return;
+        for(NoticeSummaryRow row : rows) {
+            final Entry entry = current.byIdx.get(row.getNoticeIdx());
+            if(entry != null)
+                entry.scrapCnt.set(row.getScrapCnt());
+        }
+    }
+
+
+    private Snapshot get() {
+        final Snapshot current = snapshot;
+        return current != null ? current : rebuild();
+    }
+
+    // DB 에서 다시 읽어서 교체
+    private synchronized Snapshot rebuild() {
+        final long start = System.currentTimeMillis();
+        final List<NoticeSummaryRow> rows = noticeMapper.findAllNoticeSummaryRow();
+
+        final Entry[] entries = new Entry[rows.size()];
+        final Map<Integer, Entry> byIdx = new HashMap<>(rows.size() * 2);
+        for(int i = 0; i < entries.length; i++) {
+            entries[i] = new Entry(rows.get(i));
+            byIdx.put(entries[i].noticeIdx, entries[i]);
+        }
+
+        snapshot = new Snapshot(entries, byIdx);
+        log.info("- NoticeSnapshot rebuilt : " + entries.length + " notices, " + (System.currentTimeMillis() - start) + "ms");
+        return snapshot;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        rebuild();
+    }
+
+    // 공고 추가/비활성화가 커밋된 뒤에 교체 - 다른 서버에서 일어난 변경은 CatalogVersion 이 변경 로그를 조회해서 같은 이벤트로 알려줌
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNoticeChanged(final NoticeChangedEvent event) {
+        rebuild();
+    }
+
+    // 자정에 교체 - 날짜가 바뀌어 dday 가 바뀌는 것은 응답할때 계산하지만, 만료 처리 전후로 한번 더 맞춤
+    @Scheduled(cron = "0 0 0 * * *")
+    public void rebuildAtMidnight() {
+        rebuild();
+    }
+
+
+    private static class Snapshot {
+        private final Entry[] entries;
+        private final Map<Integer, Entry> byIdx;
+
+        private Snapshot(Entry[] entries, Map<Integer, Entry> byIdx) {
+            this.entries = entries;
+            this.byIdx = byIdx;
+        }
+    }
+
+    private static class Entry {
+        private final int noticeIdx;
+        private final String title;
+        private final String institution;
+        private final long endEpochDay;
+        private final AtomicLong readCnt;
+        private final AtomicLong scrapCnt;
+
+        private Entry(NoticeSummaryRow row) {
+            this.noticeIdx = row.getNoticeIdx();
+            this.title = row.getTitle();
+            this.institution = row.getInstitution();
+            this.endEpochDay = row.getEndDate() == null ? 0 : row.getEndDate().toEpochDay();
+            this.readCnt = new AtomicLong(row.getReadCnt());
+            this.scrapCnt = new AtomicLong(row.getScrapCnt());
+        }
+
+        private NoticeSummary toSummary(final long today) {
+            final NoticeSummary summary = new NoticeSummary();
+            summary.setNoticeIdx(noticeIdx);
+            summary.setTitle(title);
+            summary.setInstitution(institution);
+            summary.setDday((int) (endEpochDay - today));
+            summary.setReadCnt((int) readCnt.get());
+            summary.setScrapCnt((int) Math.max(0, scrapCnt.get()));
+            return summary;
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package org.sopt.smatching.utils;
+
+import lombok.extern.slf4j.Slf4j;
+import org.sopt.smatching.mapper.NotificationMapper;
+import org.sopt.smatching.mapper.NotificationOutboxMapper;
+import org.sopt.smatching.model.notification.AlertType;
+import org.sopt.smatching.model.notification.Notification;
+import org.sopt.smatching.model.notification.NotificationCreatedEvent;
+import org.sopt.smatching.model.notification.OutboxNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * 새 공고 알람을 유저별로 잠깐 모았다가 묶음 알람 1개로 저장
+ * 모으는 동안에도 알람을 잃지 않도록 공고 저장 트랜잭션에서 notification_outbox 에 같이 INSERT 하고, 묶음을 저장할때 같은 트랜잭션에서 삭제
+ * 서버가 죽어서 outbox 에 남은 알람은 NOTIFICATION.OUTBOX_STALE_SEC 이 지나면 아무 서버나 찾아서 저장 (지운 개수로 중복 저장을 막음)
+ */
+@Slf4j
+@Component
+public class NotificationCoalescer {
+
+    // 유저별로 첫 새 공고 알람이 들어온 뒤 이 시간 동안 들어온 알람들을 묶어서 1개로 저장, 0이면 묶지 않고 바로 저장
+    @Value("${NOTIFICATION.COALESCE_WINDOW_SEC:0}")
+    private int windowSec;
+
+    // 묶음 1개에 담을 최대 공고 수 - noticeidxs 컬럼(VARCHAR(1000))을 넘지 않도록, 넘으면 새 묶음 시작
+    @Value("${NOTIFICATION.DIGEST_MAX_NOTICES:50}")
+    private int maxNoticesPerDigest;
+
+    // outbox 에 이 시간(초)보다 오래 남은 알람은 저장하던 서버가 죽은 것으로 보고 다른 서버가 저장 - 묶음 시간 + 재시도 시간보다 길게
+    @Value("${NOTIFICATION.OUTBOX_STALE_SEC:300}")
+    private int staleSec;
+
+    // 저장에 실패한 묶음을 다시 시도할 최대 횟수 - 넘으면 outbox 에 남겨두고 복구 때 저장
+    private static final int MAX_SAVE_ATTEMPTS = 5;
+    // 복구 1번에 읽을 최대 outbox row 수
+    private static final int RECOVER_LIMIT = 1000;
+
+    private NotificationMapper notificationMapper;
+    private NotificationOutboxMapper notificationOutboxMapper;
+    private ApplicationEventPublisher eventPublisher;
+    private TransactionTemplate transactionTemplate;
+
+    // userIdx -> 아직 저장되지 않은 새 공고 알람들
+    private final ConcurrentHashMap<Integer, PendingDigest> pending = new ConcurrentHashMap<>();
+    // 공고 수가 꽉 찼거나 저장에 실패해서 다음 flush 때 시간과 상관없이 저장할 묶음들
+    private final ConcurrentLinkedQueue<PendingDigest> ready = new ConcurrentLinkedQueue<>();
+
+    public NotificationCoalescer(NotificationMapper notificationMapper, NotificationOutboxMapper notificationOutboxMapper,
+                                 ApplicationEventPublisher eventPublisher, TransactionTemplate transactionTemplate) {
+        this.notificationMapper = notificationMapper;
+        this.notificationOutboxMapper = notificationOutboxMapper;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+
+    public boolean isEnabled() {
+        return windowSec > 0;
+    }
+
+    // 새 공고 알람을 outbox 에 저장하고 유저별 묶음에 추가
+    // outbox 는 공고 저장 트랜잭션에서 같이 저장, 묶음에는 롤백되면 알람도 남지 않도록 커밋 이후에 추가
+    public void add(final int[] userIdxList, final int noticeIdx, final String title) {
+        if(userIdxList.length == 0)
+            return;
+        notificationOutboxMapper.saveAll(userIdxList, noticeIdx, title);
+
+        if(!TransactionSynchronizationManager.isSynchronizationActive()) {
+            addNow(userIdxList, noticeIdx, title);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCommit() {
+                addNow(userIdxList, noticeIdx, title);
+            }
+        });
+    }
+
+    private void addNow(final int[] userIdxList, final int noticeIdx, final String title) {
+        final long now = System.currentTimeMillis();
+        for(int userIdx : userIdxList) {
+            pending.compute(userIdx, (key, digest) -> {
+                if(digest != null && digest.size() >= maxNoticesPerDigest) {
+                    ready.add(digest);
+                    digest = null;
+                }
+                if(digest == null)
+                    digest = new PendingDigest(key, now);
+                digest.add(noticeIdx, title);
+                return digest;
+            });
+        }
+    }
+
+
+    // 1초마다 묶음 시간이 지난 유저들의 알람을 저장
+    @Scheduled(fixedDelay = 1000)
+    public void flushDue() {
+        if(pending.isEmpty() && ready.isEmpty())
+            return;
+        flush(System.currentTimeMillis() - windowSec * 1000L);
+    }
+
+    // 서버 종료시 남아있는 알람은 시간과 상관없이 모두 저장
+    // 실패한 묶음은 다시 시도하지 않고 outbox 에 남김 - 다른 서버(또는 재시작한 서버)가 복구 때 저장
+    @PreDestroy
+    public void flushAll() {
+        flush(Long.MAX_VALUE);
+        if(!ready.isEmpty())
+            log.error("@@@@@ NotificationCoalescer " + ready.size() + " digests not saved on shutdown, left in notification_outbox for recovery @@@@@");
+    }
+
+    // 저장하던 서버가 죽어서 outbox 에 오래 남은 알람을 유저별로 묶어서 저장
+    @Scheduled(fixedDelayString = "${NOTIFICATION.OUTBOX_RECOVER_MS:60000}")
+    public void recover() {
+        final List<OutboxNotification> stale = notificationOutboxMapper.findStale(staleSec, RECOVER_LIMIT);
+        if(stale.isEmpty())
+            return;
+
+        final long now = System.currentTimeMillis();
+        final List<PendingDigest> recovered = new ArrayList<>();
+        PendingDigest digest = null;
+        for(OutboxNotification row : stale) { // useridx 순서
+            if(digest == null || digest.userIdx != row.getUserIdx() || digest.size() >= maxNoticesPerDigest) {
+                digest = new PendingDigest(row.getUserIdx(), now);
+                recovered.add(digest);
+            }
+            digest.add(row.getNoticeIdx(), row.getTitle());
+        }
+
+        log.info("@@@@@ NotificationCoalescer recovering " + stale.size() + " notifications left in outbox @@@@@");
+        for(PendingDigest pendingDigest : recovered)
+            save(pendingDigest);
+    }
+
+    // openedBefore 이전에 시작된 묶음들과 ready 에 있는 묶음들을 저장
+    private void flush(final long openedBefore) {
+        final List<PendingDigest> due = new ArrayList<>();
+        PendingDigest next;
+        while((next = ready.poll()) != null)
+            due.add(next);
+
+        for(Integer userIdx : pending.keySet()) {
+            pending.computeIfPresent(userIdx, (key, digest) -> {
+                if(digest.openedAt > openedBefore)
+                    return digest;
+                due.add(digest);
+                return null; // 맵에서 제거
+            });
+        }
+
+        for(PendingDigest digest : due)
+            save(digest);
+    }
+
+    // outbox 의 row 삭제와 알람 저장을 한 트랜잭션으로 - 다른 서버가 먼저 복구해서 지운 row 가 있으면 저장하지 않음
+    // 저장에 실패하면 다음 flush 때 다시 시도 (최대 MAX_SAVE_ATTEMPTS 번, 넘으면 outbox 에 남은 채로 복구를 기다림)
+    private void save(final PendingDigest digest) {
+        final Notification notification = digest.toNotification();
+        try {
+            final boolean saved = transactionTemplate.execute(status -> {
+                if(notificationOutboxMapper.deleteAll(digest.userIdx, digest.noticeIdxList) != digest.size()) {
+                    status.setRollbackOnly();
+                    return false;
+                }
+                notificationMapper.save(notification);
+                return true;
+            });
+            if(!saved) {
+                log.info("- NotificationCoalescer digest already saved by recovery, userIdx : " + digest.userIdx);
+                return;
+            }
+        } catch(Exception e) {
+            digest.attempts++;
+            if(digest.attempts < MAX_SAVE_ATTEMPTS) {
+                ready.add(digest);
+                log.error("@@@@@ NotificationCoalescer flush fail!! userIdx : " + digest.userIdx + ", attempt " + digest.attempts + ", will retry @@@@@");
+            }
+            else {
+                log.error("@@@@@ NotificationCoalescer flush fail!! userIdx : " + digest.userIdx + ", " + digest.size() + " notices left in outbox for recovery @@@@@");
+            }
+            log.error("Exception Detail (below)", e);
+            return;
+        }
+
+        eventPublisher.publishEvent(new NotificationCreatedEvent(notification));
+        // (구현필요) - userIdx 로 기기 찾아서 푸시알람 전송 (묶음당 1번)
+    }
+
+
+    private static class PendingDigest {
+        private final int userIdx;
+        private final long openedAt;
+        private final List<Integer> noticeIdxList = new ArrayList<>();
+        private final List<String> titleList = new ArrayList<>();
+        private int attempts;
+
+        private PendingDigest(int userIdx, long openedAt) {
+            this.userIdx = userIdx;
+            this.openedAt = openedAt;
+        }
+
+        private void add(int noticeIdx, String title) {
+            noticeIdxList.add(noticeIdx);
+            titleList.add(title);
+        }
+
+        private int size() {
+            return noticeIdxList.size();
+        }
+
+        // 1개면 기존과 같은 NewNotice 알람, 여러개면 가장 최근 공고를 대표로 하는 NewNoticeDigest 알람
+        private Notification toNotification() {
+            final int last = noticeIdxList.size() - 1;
+            if(last == 0)
+                return new Notification(userIdx, noticeIdxList.get(0), AlertType.NewNotice.toString(), titleList.get(0));
+
+            StringBuilder noticeIdxs = new StringBuilder();
+            for(int noticeIdx : noticeIdxList) {
+                if(noticeIdxs.length() > 0)
+                    noticeIdxs.append(',');
+                noticeIdxs.append(noticeIdx);
+            }
+            return new Notification(userIdx, noticeIdxList.get(last), AlertType.NewNoticeDigest.toString(),
+                    titleList.get(last) + " 외 " + last + "건", noticeIdxs.toString());
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package org.sopt.smatching.utils;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+@Component
+public class NotificationStreamRegistry {
+
+    // 이 서버(노드)에서 동시에 열어둘 수 있는 최대 SSE 연결 수
+    @Value("${NOTIFICATION.SSE.MAX_CONNECTIONS:1000}")
+    private int maxConnections;
+
+    // 연결 유지 시간 - 지나면 클라가 다시 연결
+    @Value("${NOTIFICATION.SSE.TIMEOUT_MS:1800000}")
+    private long timeoutMs;
+
+    // userIdx -> 그 유저가 열어둔 연결들 (기기가 여러개일 수 있음)
+    private final Map<Integer, List<SseEmitter>> emitters = new ConcurrentHashMap<>();
+    private final AtomicInteger connectionCnt = new AtomicInteger();
+
+
+    // 새 연결 등록, 최대 연결 수를 넘으면 null 리턴
+    public SseEmitter connect(final int userIdx) {
+        if(connectionCnt.incrementAndGet() > maxConnections) {
+            connectionCnt.decrementAndGet();
+            return null;
+        }
+
+        final SseEmitter emitter = new SseEmitter(timeoutMs);
+        emitters.compute(userIdx, (key, list) -> {
+            if(list == null)
+                list = new CopyOnWriteArrayList<>();
+            list.add(emitter);
+            return list;
+        });
+
+        // 끊기는 모든 경우에 등록 해제
+        emitter.onCompletion(() -> remove(userIdx, emitter));
+        emitter.onTimeout(() -> remove(userIdx, emitter));
+        emitter.onError(e -> remove(userIdx, emitter));
+        return emitter;
+    }
+
+    public boolean isEmpty() {
+        return connectionCnt.get() == 0;
+    }
+
+    public boolean isConnected(final int userIdx) {
+        return emitters.containsKey(userIdx);
+    }
+
+    public int getConnectionCnt() {
+        return connectionCnt.get();
+    }
+
+
+    // 유저의 모든 연결에 이벤트 전송 - 전송 실패한 연결은 정리
+    public void send(final int userIdx, final String name, final Object data) {
+        final List<SseEmitter> list = emitters.get(userIdx);
+        if(list == null)
+            return;
+
+        for(SseEmitter emitter : list) {
+            try {
+                emitter.send(SseEmitter.event().name(name).data(data));
+            } catch(IOException | IllegalStateException e) {
+                emitter.completeWithError(e);
+                remove(userIdx, emitter);
+            }
+        }
+    }
+
+    // 프록시/로드밸런서가 유휴 연결을 끊지 않도록 주기적으로 주석 이벤트 전송
+    @Scheduled(fixedDelayString = "${NOTIFICATION.SSE.HEARTBEAT_MS:20000}")
+    public void heartbeat() {
+        for(Map.Entry<Integer, List<SseEmitter>> entry : emitters.entrySet()) {
+            for(SseEmitter emitter : entry.getValue()) {
+                try {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                } catch(IOException | IllegalStateException e) {
+                    emitter.completeWithError(e);
+                    remove(entry.getKey(), emitter);
+                }
+            }
+        }
+    }
+
+
+    private void remove(final int userIdx, final SseEmitter emitter) {
+        emitters.computeIfPresent(userIdx, (key, list) -> {
+            if(list.remove(emitter))
+                connectionCnt.decrementAndGet();
+            return list.isEmpty() ? null : list;
+        });
+    }
+}
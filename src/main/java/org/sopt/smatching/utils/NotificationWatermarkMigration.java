@@ -0,0 +1,47 @@
+package org.sopt.smatching.utils;
+
+import lombok.extern.slf4j.Slf4j;
+import org.sopt.smatching.mapper.NotificationMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class NotificationWatermarkMigration {
+
+    // 기존 checked 플래그 -> user.last_read_notificationidx 로 옮기는 1회성 작업, 필요할때만 켜서 실행
+    @Value("${MIGRATION.NOTIFICATION_WATERMARK:false}")
+    private boolean enabled;
+
+    // 한번의 UPDATE 에서 처리할 유저 수 - 테이블 전체를 한번에 잠그지 않도록 구간별로 나눠서 커밋
+    @Value("${MIGRATION.CHUNK_SIZE:1000}")
+    private int chunkSize;
+
+    private NotificationMapper notificationMapper;
+
+    public NotificationWatermarkMigration(NotificationMapper notificationMapper) {
+        this.notificationMapper = notificationMapper;
+    }
+
+    // 서버 시작이 끝난 뒤 실행 (db/migration/V2__notification_read_watermark.sql 로 컬럼 추가가 먼저 되어있어야함)
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        if(!enabled)
+            return;
+
+        log.info("@@@@@ NotificationWatermarkMigration START!! @@@@@");
+        final int maxUserIdx = notificationMapper.findMaxUserIdx();
+
+        int updatedCnt = 0;
+        for(int from = 1; from <= maxUserIdx; from += chunkSize) {
+            final int to = Math.min(from + chunkSize - 1, maxUserIdx);
+            // 트랜잭션 없이 호출하므로 구간마다 바로 커밋됨 - 워터마크는 앞으로만 가므로 중간에 죽거나 전환 후에 다시 돌려도 읽은 상태가 되돌아가지 않음
+            updatedCnt += notificationMapper.backfillReadWatermark(from, to);
+            log.info("- userIdx " + from + " ~ " + to + " done");
+        }
+
+        log.info("@@@@@ NotificationWatermarkMigration DONE!! @@@@@\n- Updated user Cnt : " + updatedCnt + "\n\n");
+    }
+}
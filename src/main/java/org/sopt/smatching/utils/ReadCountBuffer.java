@@ -0,0 +1,92 @@
+package org.sopt.smatching.utils;
+
+import lombok.extern.slf4j.Slf4j;
+import org.sopt.smatching.mapper.NoticeMapper;
+import org.sopt.smatching.model.notice.NoticeSummary;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 공고 조회수 증가분을 메모리에 모았다가 주기적으로 UPDATE 한번에 반영
+ * 상세 조회마다 notice row 에 락을 잡는 UPDATE 를 하지 않도록 함
+ * 아직 반영되지 않은 증가분은 목록 응답에 더해서 보여줌
+ */
+@Slf4j
+@Component
+public class ReadCountBuffer {
+
+    private NoticeMapper noticeMapper;
+    private NoticeSnapshot noticeSnapshot;
+    private CatalogVersion catalogVersion;
+
+    // noticeIdx -> 아직 DB 에 반영되지 않은 조회수 (공고 수만큼만 생기므로 지우지 않음)
+    private final Map<Integer, LongAdder> pending = new ConcurrentHashMap<>();
+
+    public ReadCountBuffer(NoticeMapper noticeMapper, NoticeSnapshot noticeSnapshot, CatalogVersion catalogVersion) {
+        this.noticeMapper = noticeMapper;
+        this.noticeSnapshot = noticeSnapshot;
+        this.catalogVersion = catalogVersion;
+    }
+
+
+    public void increment(final int noticeIdx) {
+        pending.computeIfAbsent(noticeIdx, key -> new LongAdder()).increment();
+    }
+
+    public long getPending(final int noticeIdx) {
+        final LongAdder adder = pending.get(noticeIdx);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    // 목록 응답의 조회수에 아직 반영되지 않은 증가분 더하기
+    public void overlay(final List<NoticeSummary> noticeSummaryList) {
+        if(pending.isEmpty())
+            return;
+
+        for(NoticeSummary summary : noticeSummaryList) {
+            final long delta = getPending(summary.getNoticeIdx());
+            if(delta > 0)
+                summary.setReadCnt((int) (summary.getReadCnt() + delta));
+        }
+    }
+
+
+    // 몇 초마다 모인 증가분을 UPDATE 한번으로 반영
+    @Scheduled(fixedDelayString = "${NOTICE.READCNT_FLUSH_MS:5000}")
+    public void flush() {
+        // sum 만큼만 빼서 그 사이에 들어온 증가분은 다음 flush 로 넘어가게 함
+        final Map<Integer, Long> deltas = new HashMap<>();
+        pending.forEach((noticeIdx, adder) -> {
+            final long delta = adder.sum();
+            if(delta > 0) {
+                adder.add(-delta);
+                deltas.put(noticeIdx, delta);
+            }
+        });
+        if(deltas.isEmpty())
+            return;
+
+        try {
+            noticeMapper.addReadCnt(deltas);
+            noticeSnapshot.addReadCnt(deltas);
+            catalogVersion.countersChanged();
+        } catch(Exception e) { // 실패하면 다음 flush 때 다시 시도
+            deltas.forEach((noticeIdx, delta) -> pending.computeIfAbsent(noticeIdx, key -> new LongAdder()).add(delta));
+            log.error("@@@@@ ReadCountBuffer flush fail!! " + deltas.size() + " notices @@@@@");
+            log.error("Exception Detail (below)", e);
+        }
+    }
+
+    // 서버 종료시 남은 증가분 반영
+    @PreDestroy
+    public void drain() {
+        flush();
+    }
+}
@@ -0,0 +1,346 @@
+package org.sopt.smatching.utils;
+
+import lombok.extern.slf4j.Slf4j;
+import org.sopt.smatching.mapper.NotificationMapper;
+import org.sopt.smatching.model.notification.Notification;
+import org.sopt.smatching.model.notification.NotificationCreatedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 리마인더 알람을 정해진 시간(window)에 걸쳐 나눠서 저장/전송하는 큐
+ * 18:30 에 모든 D-3 알람을 한번에 INSERT 하는 대신, 토큰 버킷으로 초당 저장 개수를 제한하면서 마감이 가까운 공고의 알람부터 보냄
+ * NOTIFICATION.REMINDER.PACE_WINDOW_SEC 가 0 이면 기존처럼 바로 저장
+ * 큐에는 NOTIFICATION.REMINDER.MAX_PENDING 개까지만 담고, 차면 dispatch 가 기다림 - 커서로 읽는 쪽도 같이 멈춰서 알람 수와 상관없이 메모리 사용량 일정
+ */
+@Slf4j
+@Component
+public class ReminderDispatcher {
+
+    // 한번에 몰린 리마인더를 이 시간 안에 나눠서 보냄, 0이면 나누지 않고 바로 저장
+    @Value("${NOTIFICATION.REMINDER.PACE_WINDOW_SEC:0}")
+    private int windowSec;
+
+    // 초당 최대 저장 개수 - window 안에 다 못 보내더라도 이 값은 넘지 않음
+    @Value("${NOTIFICATION.REMINDER.MAX_WRITES_PER_SEC:200}")
+    private int maxWritesPerSec;
+
+    // INSERT 한번에 저장할 최대 개수
+    @Value("${NOTIFICATION.REMINDER.BATCH_SIZE:100}")
+    private int batchSize;
+
+    // 동시에 실행할 전송(SSE, 푸시) 작업 수
+    @Value("${NOTIFICATION.REMINDER.PUSH_CONCURRENCY:4}")
+    private int pushConcurrency;
+
+    // 큐에 담아둘 최대 알람 수 (저장 중인 것 포함) - 넘으면 dispatch 가 저장될때까지 기다림
+    @Value("${NOTIFICATION.REMINDER.MAX_PENDING:10000}")
+    private int maxPending;
+
+    // 저장에 실패한 알람을 다시 시도할 최대 횟수, 실패할때마다 기다리는 시간은 1초부터 2배씩 (최대 30초)
+    private static final int MAX_WRITE_ATTEMPTS = 5;
+    private static final long MAX_BACKOFF_MS = 30000L;
+
+    private NotificationMapper notificationMapper;
+    private ApplicationEventPublisher eventPublisher;
+    private TransactionTemplate transactionTemplate;
+
+    // 마감일이 빠른 순, 같으면 들어온 순
+    private final PriorityBlockingQueue<PendingReminder> queue = new PriorityBlockingQueue<>();
+    private final AtomicLong seq = new AtomicLong();
+    private volatile long windowEnd;
+    // 남은 자리 수 - 알람이 저장되거나 버려질때 반납
+    private Semaphore capacity;
+    private boolean stopped; // this 로 동기화
+
+    private ThreadPoolExecutor pushPool;
+    private Thread worker;
+
+    // 토큰 버킷 - worker 스레드에서만 사용
+    private double tokens;
+    private long lastRefill;
+
+    public ReminderDispatcher(NotificationMapper notificationMapper, ApplicationEventPublisher eventPublisher, TransactionTemplate transactionTemplate) {
+        this.notificationMapper = notificationMapper;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+
+    public boolean isEnabled() {
+        return windowSec > 0;
+    }
+
+    @PostConstruct
+    public void start() {
+        if(!isEnabled())
+            return;
+
+        // 전송이 밀리면 대기열이 찬 뒤에는 worker 가 직접 전송 -> 저장 속도도 같이 늦춰짐
+        pushPool = new ThreadPoolExecutor(pushConcurrency, pushConcurrency, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(pushConcurrency * 4),
+                runnable -> new Thread(runnable, "reminder-push"), new ThreadPoolExecutor.CallerRunsPolicy());
+
+        capacity = new Semaphore(maxPending);
+        lastRefill = System.currentTimeMillis();
+        worker = new Thread(this::run, "reminder-dispatcher");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    // 서버 종료시 남은 알람은 속도 제한 없이 모두 저장
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if(worker == null)
+            return;
+
+        // 이후의 dispatch 는 큐에 넣지 않고 실패 - 종료 뒤에 넣은 알람이 저장되지 않고 남지 않도록
+        synchronized(this) {
+            stopped = true;
+        }
+        worker.interrupt();
+        worker.join(5000);
+
+        final List<PendingReminder> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        for(int from = 0; from < rest.size(); from += batchSize) {
+            final List<PendingReminder> batch = rest.subList(from, Math.min(from + batchSize, rest.size()));
+            try {
+                write(batch);
+            } catch(Exception e) {
+                log.error("@@@@@ ReminderDispatcher write fail on shutdown!! " + batch.size() + " reminders dropped @@@@@");
+                log.error("Exception Detail (below)", e);
+                capacity.release(batch.size());
+                for(PendingReminder reminder : batch)
+                    reminder.group.saved.completeExceptionally(e);
+            }
+        }
+        if(!rest.isEmpty())
+            log.info("@@@@@ ReminderDispatcher flushed " + rest.size() + " reminders on shutdown @@@@@");
+
+        pushPool.shutdown();
+        pushPool.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+
+    // 같은 마감일의 알람들을 큐에 추가 (window 가 0 이면 바로 저장)
+    // lease 는 알람을 만든 스케줄 작업의 락 - 저장할때 펜싱해서 락을 뺏긴 뒤에는 저장하지 않음 (null 이면 펜싱 없이)
+    // 리턴값은 이번에 넘긴 알람이 모두 저장(커밋)되면 완료, 저장하지 못하고 버려지면 예외로 완료
+    // 큐가 차 있으면 자리가 날때까지 기다린 뒤에 리턴
+    public CompletableFuture<Void> dispatch(final List<Notification> notificationList, final LocalDate endDate, final JobLock.Lease lease) throws InterruptedException {
+        if(notificationList.isEmpty())
+            return CompletableFuture.completedFuture(null);
+
+        if(!isEnabled()) {
+            transactionTemplate.execute(status -> {
+                if(lease != null)
+                    lease.fence();
+                return notificationMapper.saveAll(notificationList);
+            });
+            publish(notificationList);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        final long epochDay = endDate == null ? Long.MAX_VALUE : endDate.toEpochDay();
+        final PendingGroup group = new PendingGroup(notificationList.size());
+        for(Notification notification : notificationList) {
+            // 1개씩 자리를 받음 - maxPending 보다 많은 알람을 한번에 넘겨도 멈추지 않음
+            capacity.acquire();
+            synchronized(this) {
+                if(stopped) {
+                    capacity.release();
+                    throw new IllegalStateException("ReminderDispatcher is stopped");
+                }
+
+                // 큐가 비어있을때 들어온 알람부터 새로운 window 시작
+                if(queue.isEmpty())
+                    windowEnd = System.currentTimeMillis() + windowSec * 1000L;
+                queue.put(new PendingReminder(notification, epochDay, seq.incrementAndGet(), lease, group));
+            }
+        }
+        return group.saved;
+    }
+
+    // 큐에 있거나 저장 중인 알람 수
+    public int getPendingCnt() {
+        return capacity == null ? 0 : maxPending - capacity.availablePermits();
+    }
+
+
+    private void run() {
+        while(!Thread.currentThread().isInterrupted()) {
+            final List<PendingReminder> batch = new ArrayList<>();
+            try {
+                batch.add(queue.take());
+
+                // 속도가 느릴때는 INSERT 도 작게 나눠서 순간 부하가 몰리지 않게 함
+                final double rate = currentRate();
+                final int size = (int) Math.max(1, Math.min(batchSize, rate));
+                while(batch.size() < size) {
+                    final PendingReminder next = queue.poll();
+                    if(next == null)
+                        break;
+                    batch.add(next);
+                }
+
+                acquire(batch.size(), rate);
+            } catch(InterruptedException e) {
+                queue.addAll(batch); // 종료시 stop() 에서 저장
+                return;
+            }
+
+            try {
+                write(batch);
+            } catch(Exception e) {
+                // 횟수가 남은 알람은 큐에 다시 넣고, DB 가 회복될 시간을 준 뒤에 다시 시도
+                int attempts = 0;
+                final List<PendingReminder> retry = new ArrayList<>(batch.size());
+                final List<PendingReminder> dropped = new ArrayList<>();
+                for(PendingReminder reminder : batch) {
+                    reminder.attempts++;
+                    attempts = Math.max(attempts, reminder.attempts);
+                    if(reminder.attempts < MAX_WRITE_ATTEMPTS)
+                        retry.add(reminder);
+                    else
+                        dropped.add(reminder);
+                }
+                capacity.release(dropped.size());
+                for(PendingReminder reminder : dropped)
+                    reminder.group.saved.completeExceptionally(e);
+                log.error("@@@@@ ReminderDispatcher write fail!! " + retry.size() + " reminders requeued, " + dropped.size() + " reminders dropped @@@@@");
+                log.error("Exception Detail (below)", e);
+                queue.addAll(retry);
+
+                try {
+                    Thread.sleep(Math.min(MAX_BACKOFF_MS, 1000L << Math.min(attempts - 1, 5)));
+                } catch(InterruptedException ie) {
+                    return; // 다시 넣은 알람은 종료시 stop() 에서 저장
+                }
+            }
+        }
+    }
+
+    // 남은 알람을 window 끝까지 고르게 보내는 속도, 최대값 제한
+    // 큐가 차서 기다리는 쪽이 있으면 남은 양을 알 수 없으므로 최대 속도로 보냄
+    private double currentRate() {
+        if(capacity.hasQueuedThreads())
+            return maxWritesPerSec;
+        final double remainingSec = Math.max(1.0, (windowEnd - System.currentTimeMillis()) / 1000.0);
+        return Math.min(maxWritesPerSec, Math.max(1.0, (queue.size() + 1) / remainingSec));
+    }
+
+    private void acquire(final int permits, final double rate) throws InterruptedException {
+        while(true) {
+            final long now = System.currentTimeMillis();
+            tokens = Math.min(batchSize, tokens + (now - lastRefill) * rate / 1000.0);
+            lastRefill = now;
+
+            if(tokens >= permits) {
+                tokens -= permits;
+                return;
+            }
+            Thread.sleep((long) Math.ceil((permits - tokens) * 1000.0 / rate));
+        }
+    }
+
+    // 배치에 담긴 작업 락들을 먼저 펜싱 - 뺏긴 락으로 만든 알람은 빼고 저장 (락을 가져간 서버가 다시 만듦)
+    private void write(final List<PendingReminder> batch) {
+        final List<Notification> notificationList = new ArrayList<>(batch.size());
+        final Map<JobLock.Lease, IllegalStateException> lost = new HashMap<>();
+        transactionTemplate.execute(status -> {
+            final Set<JobLock.Lease> checked = new HashSet<>();
+            for(PendingReminder reminder : batch) {
+                if(reminder.lease == null || !checked.add(reminder.lease))
+                    continue;
+                try {
+                    reminder.lease.fence();
+                } catch(IllegalStateException e) {
+                    lost.put(reminder.lease, e);
+                    log.error("@@@@@ ReminderDispatcher " + e.getMessage() + ", reminders dropped @@@@@");
+                }
+            }
+
+            for(PendingReminder reminder : batch) {
+                if(reminder.lease == null || !lost.containsKey(reminder.lease))
+                    notificationList.add(reminder.notification);
+            }
+            return notificationList.isEmpty() ? 0 : notificationMapper.saveAll(notificationList);
+        });
+
+        // 커밋된 뒤에 자리를 반납하고 기다리는 쪽(구간 체크포인트)에 알림
+        capacity.release(batch.size());
+        for(PendingReminder reminder : batch) {
+            if(reminder.lease != null && lost.containsKey(reminder.lease))
+                reminder.group.saved.completeExceptionally(lost.get(reminder.lease));
+            else
+                reminder.group.done();
+        }
+        if(notificationList.isEmpty())
+            return;
+
+        if(pushPool == null || pushPool.isShutdown())
+            publish(notificationList);
+        else
+            pushPool.execute(() -> publish(notificationList));
+    }
+
+    private void publish(final List<Notification> notificationList) {
+        for(Notification notification : notificationList) {
+            eventPublisher.publishEvent(new NotificationCreatedEvent(notification));
+            // (구현필요) 푸시 알람 보내기
+        }
+    }
+
+
+    private static class PendingReminder implements Comparable<PendingReminder> {
+        private final Notification notification;
+        private final long endEpochDay;
+        private final long seq;
+        private final JobLock.Lease lease;
+        private final PendingGroup group;
+        private int attempts; // worker 스레드에서만 사용
+
+        private PendingReminder(Notification notification, long endEpochDay, long seq, JobLock.Lease lease, PendingGroup group) {
+            this.notification = notification;
+            this.endEpochDay = endEpochDay;
+            this.seq = seq;
+            this.lease = lease;
+            this.group = group;
+        }
+
+        @Override
+        public int compareTo(PendingReminder o) {
+            final int cmp = Long.compare(endEpochDay, o.endEpochDay);
+            return cmp != 0 ? cmp : Long.compare(seq, o.seq);
+        }
+    }
+
+    // dispatch 1번에 넘긴 알람들 - 모두 저장되면 saved 완료
+    private static class PendingGroup {
+        private final AtomicInteger remaining;
+        private final CompletableFuture<Void> saved = new CompletableFuture<>();
+
+        private PendingGroup(int size) {
+            this.remaining = new AtomicInteger(size);
+        }
+
+        private void done() {
+            if(remaining.decrementAndGet() == 0)
+                saved.complete(null);
+        }
+    }
+}
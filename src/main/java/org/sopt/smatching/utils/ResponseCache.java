@@ -0,0 +1,151 @@
+package org.sopt.smatching.utils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.sopt.smatching.model.DefaultRes;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 직렬화 + 압축이 끝난 응답 바이트 캐시 - 캐시에 있으면 Jackson 직렬화와 gzip 압축 없이 바이트를 그대로 응답
+ * key 에 카탈로그 버전(ETag)을 넣어서 공고 목록이 바뀌면 자연히 새 key 로 만들어지고, 예전 key 는 LRU 로 밀려남
+ * 비회원 /notices/list 와 /notices/detail 에서 사용
+ */
+@Component
+public class ResponseCache {
+
+    // gzip 버전을 따로 만들 최소 크기 - 작은 응답은 압축해도 이득이 없음
+    private static final int GZIP_MIN_BYTES = 512;
+
+    // 캐시에 쓸 최대 바이트 수 (json + gzip), 0 이면 캐시 사용 안함
+    @Value("${RESPONSE_CACHE.MAX_BYTES:16777216}")
+    private long maxBytes;
+
+    private ObjectMapper objectMapper;
+
+    // key -> 응답 바이트, 접근 순서로 정렬 (this 로 동기화)
+    private final LinkedHashMap<String, CachedBody> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long usedBytes;
+
+    private final AtomicLong hitCnt = new AtomicLong();
+    private final AtomicLong missCnt = new AtomicLong();
+
+    public ResponseCache(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+
+    public ResponseEntity<byte[]> respond(final String key, final String acceptEncoding, final Supplier<DefaultRes> body) throws JsonProcessingException {
+        return respond(key, acceptEncoding, body, null);
+    }
+
+    // 캐시된 바이트로 응답 - 없으면 body 를 만들어서 직렬화/압축 후 저장 (status 가 200 인 응답만 저장), 캐시에서 응답하면 onHit 실행
+    // 클라가 gzip 을 받을 수 있으면 압축된 바이트를 Content-Encoding: gzip 으로 그대로 보냄
+    public ResponseEntity<byte[]> respond(final String key, final String acceptEncoding, final Supplier<DefaultRes> body, final Runnable onHit) throws JsonProcessingException {
+        CachedBody cached = null;
+        if(maxBytes > 0) {
+            synchronized(this) {
+                cached = entries.get(key);
+            }
+        }
+
+        if(cached != null) {
+            hitCnt.incrementAndGet();
+            if(onHit != null)
+                onHit.run();
+        }
+        else {
+            missCnt.incrementAndGet();
+            final DefaultRes res = body.get();
+            cached = new CachedBody(objectMapper.writeValueAsBytes(res));
+            if(res.getStatus() == StatusCode.OK)
+                put(key, cached);
+        }
+
+        final HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON_UTF8);
+        headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        if(cached.gzip != null && acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            headers.add(HttpHeaders.CONTENT_ENCODING, "gzip");
+            headers.setContentLength(cached.gzip.length);
+            return new ResponseEntity<>(cached.gzip, headers, HttpStatus.OK);
+        }
+        headers.setContentLength(cached.json.length);
+        return new ResponseEntity<>(cached.json, headers, HttpStatus.OK);
+    }
+
+    private void put(final String key, final CachedBody cached) {
+        if(maxBytes <= 0 || cached.size() > maxBytes)
+            return;
+
+        synchronized(this) {
+            final CachedBody old = entries.put(key, cached);
+            if(old != null)
+                usedBytes -= old.size();
+            usedBytes += cached.size();
+
+            final Iterator<Map.Entry<String, CachedBody>> it = entries.entrySet().iterator();
+            while(usedBytes > maxBytes && it.hasNext()) {
+                final Map.Entry<String, CachedBody> eldest = it.next();
+                if(eldest.getKey().equals(key))
+                    continue;
+                usedBytes -= eldest.getValue().size();
+                it.remove();
+            }
+        }
+    }
+
+
+    // 관리자 페이지용
+    public Map<String, Object> getStats() {
+        final HashMap<String, Object> map = new HashMap<>();
+        synchronized(this) {
+            map.put("entries", entries.size());
+            map.put("usedBytes", usedBytes);
+        }
+        map.put("maxBytes", maxBytes);
+        map.put("hit", hitCnt.get());
+        map.put("miss", missCnt.get());
+        return map;
+    }
+
+
+    private static class CachedBody {
+        private final byte[] json;
+        private final byte[] gzip; // 작은 응답이면 null
+
+        private CachedBody(byte[] json) {
+            this.json = json;
+            this.gzip = json.length >= GZIP_MIN_BYTES ? gzip(json) : null;
+        }
+
+        private long size() {
+            return json.length + (gzip == null ? 0 : gzip.length);
+        }
+
+        private static byte[] gzip(final byte[] bytes) {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4 + 64);
+            try(GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+                gzip.write(bytes);
+            } catch(IOException e) { // 메모리 스트림이라 실패할 일 없음
+                return null;
+            }
+            return out.toByteArray();
+        }
+    }
+}
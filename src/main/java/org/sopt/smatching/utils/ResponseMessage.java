@@ -4,6 +4,8 @@ public class ResponseMessage {
 
     public static final String READ_NOTICE_SUMMARY = "공고 목록 조회 성공";
     public static final String READ_NOTICE_DETAIL = "공고 상세내용 조회 성공";
+    public static final String READ_NOTICE_CHANGES = "공고 변경내역 조회 성공";
+    public static final String TOO_MANY_NOTICE = "한번에 조회할 수 있는 공고 수 초과";
     public static final String NOT_FOUND_NOTICE = "공고를 찾을 수 없습니다.";
     public static final String ALREADY_EXIST_EMAIL = "이미 존재하는 이메일 입니다.";
     public static final String READ_USER = "회원정보 조회 성공";
@@ -43,6 +45,8 @@ public class ResponseMessage {
     public static final String READ_SCRAP = "스크랩 여부 조회 성공";
     public static final String CREATED_SCRAP = "스크랩 설정 성공";
     public static final String DELETED_SCRAP = "스크랩 해제 성공";
+    public static final String UPDATED_SCRAP_ALL = "스크랩 일괄 변경 성공";
+    public static final String TOO_MANY_SCRAP = "한번에 변경할 수 있는 스크랩 수 초과";
 
     public static final String READ_USER_INFO = "마이페이지 메인 정보 조회 성공";
     public static final String READ_USER_ALERT = "유저의 알람설정 여부 조회 성공";
@@ -64,4 +68,7 @@ public class ResponseMessage {
 
     public static final String NOT_FOUND_NOTIFICATION = "사용자의 알람이 존재하지 않습니다.";
     public static final String READ_NOTIFICATION = "사용자의 알람 조회 성공";
+    public static final String TOO_MANY_STREAMS = "알람 스트림 연결 수 초과";
+
+    public static final String READ_HOME = "홈 화면 조회 성공";
 }
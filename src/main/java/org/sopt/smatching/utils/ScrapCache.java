@@ -0,0 +1,128 @@
+package org.sopt.smatching.utils;
+
+import org.sopt.smatching.mapper.ScrapMapper;
+import org.sopt.smatching.model.notice.NoticeSummary;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 유저별 스크랩한 공고 noticeIdx 집합 (정렬된 int[]) 캐시 - 스크랩 여부 조회를 DB 대신 이진탐색으로 처리
+ * 이 서버에서 스크랩을 바꾸면 바로 갱신하고, 다른 서버에서 바꾼 건 TTL 이 지나 다시 읽을때 반영됨
+ */
+@Component
+public class ScrapCache {
+
+    // 다시 DB 에서 읽기 전까지 유지할 시간
+    @Value("${SCRAP.CACHE_TTL_SEC:60}")
+    private int ttlSec;
+
+    // 캐시할 최대 유저 수
+    @Value("${SCRAP.CACHE_MAX_USERS:10000}")
+    private int maxUsers;
+
+    private ScrapMapper scrapMapper;
+
+    // userIdx -> 스크랩 집합, 배열은 바꾸지 않고 새로 만들어서 교체
+    private final Map<Integer, ScrapSet> cache = new ConcurrentHashMap<>();
+
+    public ScrapCache(ScrapMapper scrapMapper) {
+        this.scrapMapper = scrapMapper;
+    }
+
+
+    public boolean contains(final int userIdx, final int noticeIdx) {
+        return Arrays.binarySearch(get(userIdx), noticeIdx) >= 0;
+    }
+
+    // 목록 응답의 scrap 값을 유저의 스크랩 여부로 채움 - 목록 쿼리는 회원/비회원 구분 없이 같은 모양으로 실행
+    public void overlay(final int userIdx, final List<NoticeSummary> noticeSummaryList) {
+        if(noticeSummaryList.isEmpty())
+            return;
+
+        final int[] scraped = get(userIdx);
+        for(NoticeSummary summary : noticeSummaryList)
+            summary.setScrap(Arrays.binarySearch(scraped, summary.getNoticeIdx()) >= 0 ? 1 : 0);
+    }
+
+    // 유저가 스크랩한 공고들의 noticeIdx (오름차순, 수정하면 안됨)
+    public int[] get(final int userIdx) {
+        final long now = System.currentTimeMillis();
+        final ScrapSet current = cache.get(userIdx);
+        if(current != null && current.loadedAt + ttlSec * 1000L > now)
+            return current.noticeIdxs;
+
+        if(current == null && cache.size() >= maxUsers)
+            evictOne();
+
+        // 로딩을 compute 안에서 해야 그 사이에 들어온 add/remove 가 로딩 결과에 덮어써지지 않음
+        return cache.compute(userIdx, (key, set) -> {
+            if(set != null && set.loadedAt + ttlSec * 1000L > now)
+                return set;
+            return new ScrapSet(scrapMapper.findScrapedNoticeIdxByUserIdx(userIdx), now);
+        }).noticeIdxs;
+    }
+
+    // DB 에 스크랩이 추가된 뒤 호출 - 캐시에 없는 유저는 다음 조회때 DB 에서 읽음
+    public void add(final int userIdx, final int noticeIdx) {
+        cache.computeIfPresent(userIdx, (key, set) -> {
+            final int pos = Arrays.binarySearch(set.noticeIdxs, noticeIdx);
+            if(pos >= 0)
+                return set;
+
+            final int insert = -pos - 1;
+            final int[] next = new int[set.noticeIdxs.length + 1];
+            System.arraycopy(set.noticeIdxs, 0, next, 0, insert);
+            next[insert] = noticeIdx;
+            System.arraycopy(set.noticeIdxs, insert, next, insert + 1, set.noticeIdxs.length - insert);
+            return new ScrapSet(next, set.loadedAt);
+        });
+    }
+
+    // DB 에서 스크랩이 삭제된 뒤 호출
+    public void remove(final int userIdx, final int noticeIdx) {
+        cache.computeIfPresent(userIdx, (key, set) -> {
+            final int pos = Arrays.binarySearch(set.noticeIdxs, noticeIdx);
+            if(pos < 0)
+                return set;
+
+            final int[] next = new int[set.noticeIdxs.length - 1];
+            System.arraycopy(set.noticeIdxs, 0, next, 0, pos);
+            System.arraycopy(set.noticeIdxs, pos + 1, next, pos, next.length - pos);
+            return new ScrapSet(next, set.loadedAt);
+        });
+    }
+
+    // 가득 찼을때 만료된 유저를 우선 하나 지우고, 없으면 아무거나 하나 지움
+    private void evictOne() {
+        final long now = System.currentTimeMillis();
+        Integer victim = null;
+        for(Iterator<Map.Entry<Integer, ScrapSet>> it = cache.entrySet().iterator(); it.hasNext(); ) {
+            final Map.Entry<Integer, ScrapSet> e = it.next();
+            if(e.getValue().loadedAt + ttlSec * 1000L <= now) {
+                it.remove();
+                return;
+            }
+            if(victim == null)
+                victim = e.getKey();
+        }
+        if(victim != null)
+            cache.remove(victim);
+    }
+
+
+    private static class ScrapSet {
+        private final int[] noticeIdxs;
+        private final long loadedAt;
+
+        private ScrapSet(int[] noticeIdxs, long loadedAt) {
+            this.noticeIdxs = noticeIdxs;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
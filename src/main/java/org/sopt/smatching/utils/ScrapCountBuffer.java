@@ -0,0 +1,94 @@
+package org.sopt.smatching.utils;
+
+import lombok.extern.slf4j.Slf4j;
+import org.sopt.smatching.mapper.NoticeMapper;
+import org.sopt.smatching.model.notice.NoticeSummary;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 스크랩이 바뀐 공고를 메모리에 모았다가 주기적으로 UPDATE 한번에 스크랩 수를 반영
+ * ReadCountBuffer 와 달리 증감분을 더하지 않고 scrap_notice 를 다시 센 값을 씀 - 여러 서버가 각자 반영하거나 새벽 정리 작업과 겹쳐도 두번 세지 않음
+ * 증감분은 어떤 공고를 다시 셀지와, 아직 반영되지 않은 변화를 목록 응답에 더해서 보여주는 데만 사용
+ */
+@Slf4j
+@Component
+public class ScrapCountBuffer {
+
+    private NoticeMapper noticeMapper;
+    private NoticeSnapshot noticeSnapshot;
+    private CatalogVersion catalogVersion;
+
+    // noticeIdx -> 아직 DB 에 반영되지 않은 스크랩 수 증감
+    private final Map<Integer, LongAdder> pending = new ConcurrentHashMap<>();
+
+    public ScrapCountBuffer(NoticeMapper noticeMapper, NoticeSnapshot noticeSnapshot, CatalogVersion catalogVersion) {
+        this.noticeMapper = noticeMapper;
+        this.noticeSnapshot = noticeSnapshot;
+        this.catalogVersion = catalogVersion;
+    }
+
+
+    public void add(final int noticeIdx, final long delta) {
+        pending.computeIfAbsent(noticeIdx, key -> new LongAdder()).add(delta);
+    }
+
+    public long getPending(final int noticeIdx) {
+        final LongAdder adder = pending.get(noticeIdx);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    // 목록 응답의 스크랩 수에 아직 반영되지 않은 증감분 더하기
+    public void overlay(final List<NoticeSummary> noticeSummaryList) {
+        if(pending.isEmpty())
+            return;
+
+        for(NoticeSummary summary : noticeSummaryList) {
+            final long delta = getPending(summary.getNoticeIdx());
+            if(delta != 0)
+                summary.setScrapCnt((int) Math.max(0, summary.getScrapCnt() + delta));
+        }
+    }
+
+
+    // 몇 초마다 스크랩이 바뀐 공고들의 스크랩 수를 UPDATE 한번으로 다시 셈
+    // 증감분은 스크랩 row 가 커밋된 뒤에 더해지므로, 다시 센 뒤에 커밋된 변화는 다음 flush 때 다시 세게 됨
+    @Scheduled(fixedDelayString = "${NOTICE.SCRAPCNT_FLUSH_MS:5000}")
+    public void flush() {
+        final Map<Integer, Long> deltas = new HashMap<>();
+        pending.forEach((noticeIdx, adder) -> {
+            final long delta = adder.sum();
+            if(delta != 0) {
+                adder.add(-delta);
+                deltas.put(noticeIdx, delta);
+            }
+        });
+        if(deltas.isEmpty())
+            return;
+
+        try {
+            final List<Integer> noticeIdxList = new ArrayList<>(deltas.keySet());
+            noticeMapper.recountScrapCnt(noticeIdxList);
+            noticeSnapshot.setScrapCnt(noticeMapper.findScrapCntByIdxList(noticeIdxList));
+            catalogVersion.countersChanged();
+        } catch(Exception e) { // 실패하면 다음 flush 때 다시 시도
+            deltas.forEach(this::add);
+            log.error("@@@@@ ScrapCountBuffer flush fail!! " + deltas.size() + " notices @@@@@");
+            log.error("Exception Detail (below)", e);
+        }
+    }
+
+    // 서버 종료시 남은 증감분 반영
+    @PreDestroy
+    public void drain() {
+        flush();
+    }
+}
@@ -0,0 +1,273 @@
+package org.sopt.smatching.utils;
+
+import lombok.extern.slf4j.Slf4j;
+import org.sopt.smatching.mapper.NoticeViewMapper;
+import org.sopt.smatching.model.notice.NoticeChangedEvent;
+import org.sopt.smatching.model.notice.NoticeViewBucket;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PreDestroy;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 공고별 최근 조회수(분 단위 60칸, 시간 단위 24칸 링버퍼)와 최근 24시간 인기 공고 Top K
+ * Top K 는 조회될때마다 크기 K 인 힙을 갱신하고, 1분마다 최근 24시간 안에 조회된 공고들로만 다시 만들어서 오래된 조회수를 빼줌
+ * 시간 단위 조회수는 주기적으로 notice_view_bucket 에 저장해서 서버 재시작시 복구함 (복구 이후에는 이 서버의 조회만 셈)
+ */
+@Slf4j
+@Component
+public class TrendingCounter {
+
+    private static final int MINUTES = 60;
+    private static final int HOURS = 24;
+
+    @Value("${NOTICE.TRENDING.TOP_K:50}")
+    private int topK;
+
+    private NoticeViewMapper noticeViewMapper;
+
+    // noticeIdx -> 최근 조회수
+    private final Map<Integer, ViewWindow> windows = new ConcurrentHashMap<>();
+
+    // (시간, noticeIdx) -> 아직 저장되지 않은 조회수
+    private final Map<Long, LongAdder> unsaved = new ConcurrentHashMap<>();
+
+    // 최근 24시간 조회수 Top K (점수가 가장 낮은게 맨 앞) - heap 으로 동기화
+    private final PriorityQueue<Entry> heap = new PriorityQueue<>();
+    private final Map<Integer, Entry> inHeap = new HashMap<>();
+
+    public TrendingCounter(NoticeViewMapper noticeViewMapper) {
+        this.noticeViewMapper = noticeViewMapper;
+    }
+
+
+    // 공고 상세 조회 1번 기록
+    public void record(final int noticeIdx) {
+        final long minute = System.currentTimeMillis() / 60000;
+        final long score = windows.computeIfAbsent(noticeIdx, key -> new ViewWindow()).add(minute, 1);
+        unsaved.computeIfAbsent(key(minute / 60, noticeIdx), key -> new LongAdder()).increment();
+        offer(noticeIdx, score);
+    }
+
+    // 최근 24시간 인기 공고의 noticeIdx (조회수 많은 순)
+    public List<Integer> top(final int num) {
+        final List<Entry> entries;
+        synchronized(heap) {
+            entries = new ArrayList<>(heap);
+        }
+        entries.sort(Collections.reverseOrder());
+
+        final List<Integer> result = new ArrayList<>(Math.min(num, entries.size()));
+        for(int i = 0; i < entries.size() && i < num; i++)
+            result.add(entries.get(i).noticeIdx);
+        return result;
+    }
+
+    // 최근 1시간 조회수
+    public long countLastHour(final int noticeIdx) {
+        final ViewWindow window = windows.get(noticeIdx);
+        return window == null ? 0 : window.lastHour(System.currentTimeMillis() / 60000);
+    }
+
+    // 최근 24시간 조회수
+    public long countLastDay(final int noticeIdx) {
+        final ViewWindow window = windows.get(noticeIdx);
+        return window == null ? 0 : window.lastDay(System.currentTimeMillis() / 60000 / 60);
+    }
+
+
+    private void offer(final int noticeIdx, final long score) {
+        synchronized(heap) {
+            Entry entry = inHeap.get(noticeIdx);
+            if(entry != null) { // 이미 Top K 안에 있으면 점수만 갱신
+                heap.remove(entry);
+                entry.score = score;
+                heap.add(entry);
+                return;
+            }
+
+            if(heap.size() >= topK) {
+                if(score <= heap.peek().score)
+                    return;
+                inHeap.remove(heap.poll().noticeIdx);
+            }
+            entry = new Entry(noticeIdx, score);
+            heap.add(entry);
+            inHeap.put(noticeIdx, entry);
+        }
+    }
+
+    // 1분마다 최근 24시간 안에 조회된 공고들로만 Top K 를 다시 만듦 - 24시간이 지나 빠진 조회수 반영
+    @Scheduled(fixedDelay = 60000)
+    public void rebuild() {
+        final long hour = System.currentTimeMillis() / 3600000;
+        final PriorityQueue<Entry> next = new PriorityQueue<>();
+
+        for(Iterator<Map.Entry<Integer, ViewWindow>> it = windows.entrySet().iterator(); it.hasNext(); ) {
+            final Map.Entry<Integer, ViewWindow> e = it.next();
+            final long score = e.getValue().lastDay(hour);
+            if(score == 0) { // 24시간 동안 조회가 없으면 메모리에서 정리
+                it.remove();
+                continue;
+            }
+            if(next.size() < topK)
+                next.add(new Entry(e.getKey(), score));
+            else if(score > next.peek().score) {
+                next.poll();
+                next.add(new Entry(e.getKey(), score));
+            }
+        }
+
+        synchronized(heap) {
+            heap.clear();
+            inHeap.clear();
+            for(Entry entry : next) {
+                heap.add(entry);
+                inHeap.put(entry.noticeIdx, entry);
+            }
+        }
+    }
+
+
+    // 서버 시작시 최근 24시간 조회수 복구
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        final long hour = System.currentTimeMillis() / 3600000;
+        try {
+            final List<NoticeViewBucket> bucketList = noticeViewMapper.findSince((int) (hour - HOURS + 1));
+            for(NoticeViewBucket bucket : bucketList)
+                windows.computeIfAbsent(bucket.getNoticeIdx(), key -> new ViewWindow()).loadHour(bucket.getBucketHour(), bucket.getCnt());
+            rebuild();
+            log.info("@@@@@ TrendingCounter loaded " + bucketList.size() + " buckets, " + windows.size() + " notices @@@@@");
+        } catch(Exception e) {
+            log.error("@@@@@ TrendingCounter load fail!! @@@@@");
+            log.error("Exception Detail (below)", e);
+        }
+    }
+
+    // 시간 단위 조회수 증가분 저장
+    @Scheduled(fixedDelayString = "${NOTICE.TRENDING.PERSIST_MS:60000}")
+    public void persist() {
+        final long currentHour = System.currentTimeMillis() / 3600000;
+        final List<NoticeViewBucket> bucketList = new ArrayList<>();
+
+        for(Iterator<Map.Entry<Long, LongAdder>> it = unsaved.entrySet().iterator(); it.hasNext(); ) {
+            final Map.Entry<Long, LongAdder> e = it.next();
+            final int hour = (int) (e.getKey() >>> 32);
+            final long delta = e.getValue().sum();
+            if(delta > 0) {
+                e.getValue().add(-delta);
+                bucketList.add(new NoticeViewBucket(e.getKey().intValue(), hour, delta));
+            }
+            if(hour < currentHour) // 지난 시간에는 더이상 조회가 쌓이지 않음
+                it.remove();
+        }
+        if(bucketList.isEmpty())
+            return;
+
+        try {
+            noticeViewMapper.saveAll(bucketList);
+            noticeViewMapper.deleteBefore((int) (currentHour - HOURS * 2));
+        } catch(Exception e) { // 실패하면 다음 저장 때 다시 시도
+            for(NoticeViewBucket bucket : bucketList)
+                unsaved.computeIfAbsent(key(bucket.getBucketHour(), bucket.getNoticeIdx()), key -> new LongAdder()).add(bucket.getCnt());
+            log.error("@@@@@ TrendingCounter persist fail!! @@@@@");
+            log.error("Exception Detail (below)", e);
+        }
+    }
+
+    @PreDestroy
+    public void drain() {
+        persist();
+    }
+
+
+    // 비활성화/만료된 공고는 인기 공고에서 제외
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNoticeChanged(final NoticeChangedEvent event) {
+        if(event.getType() == NoticeChangedEvent.Type.ADDED)
+            return;
+
+        synchronized(heap) {
+            for(int noticeIdx : event.getNoticeIdxList()) {
+                windows.remove(noticeIdx);
+                final Entry entry = inHeap.remove(noticeIdx);
+                if(entry != null)
+                    heap.remove(entry);
+            }
+        }
+    }
+
+    private static long key(final long hour, final int noticeIdx) {
+        return (hour << 32) | (noticeIdx & 0xffffffffL);
+    }
+
+
+    // 공고 1개의 분 단위(최근 60분), 시간 단위(최근 24시간) 조회수 - stamp 가 지난 칸은 0 으로 취급하고 재사용
+    private static class ViewWindow {
+        private final long[] minuteCnt = new long[MINUTES];
+        private final long[] minuteStamp = new long[MINUTES];
+        private final long[] hourCnt = new long[HOURS];
+        private final long[] hourStamp = new long[HOURS];
+
+        // 조회수를 더하고 최근 24시간 조회수 리턴
+        private synchronized long add(final long minute, final long cnt) {
+            final int m = (int) (minute % MINUTES);
+            if(minuteStamp[m] != minute) {
+                minuteStamp[m] = minute;
+                minuteCnt[m] = 0;
+            }
+            minuteCnt[m] += cnt;
+
+            loadHour(minute / 60, cnt);
+            return lastDay(minute / 60);
+        }
+
+        private synchronized void loadHour(final long hour, final long cnt) {
+            final int h = (int) (hour % HOURS);
+            if(hourStamp[h] != hour) {
+                hourStamp[h] = hour;
+                hourCnt[h] = 0;
+            }
+            hourCnt[h] += cnt;
+        }
+
+        private synchronized long lastHour(final long minute) {
+            long sum = 0;
+            for(int i = 0; i < MINUTES; i++)
+                if(minuteStamp[i] > minute - MINUTES)
+                    sum += minuteCnt[i];
+            return sum;
+        }
+
+        private synchronized long lastDay(final long hour) {
+            long sum = 0;
+            for(int i = 0; i < HOURS; i++)
+                if(hourStamp[i] > hour - HOURS)
+                    sum += hourCnt[i];
+            return sum;
+        }
+    }
+
+    private static class Entry implements Comparable<Entry> {
+        private final int noticeIdx;
+        private long score;
+
+        private Entry(int noticeIdx, long score) {
+            this.noticeIdx = noticeIdx;
+            this.score = score;
+        }
+
+        @Override
+        public int compareTo(Entry o) {
+            return Long.compare(score, o.score);
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package org.sopt.smatching.utils.job;
+
+import lombok.extern.slf4j.Slf4j;
+import org.sopt.smatching.mapper.JobMapper;
+import org.sopt.smatching.model.job.IdRange;
+import org.sopt.smatching.model.job.JobRun;
+import org.sopt.smatching.model.job.JobStats;
+import org.sopt.smatching.utils.JobLock;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 스케줄 작업을 id 구간(chunk)으로 나눠서 병렬로 실행하는 실행기
+ * 끝난 구간은 job_checkpoint 에 기록해서, 중간에 서버가 죽으면 같은 날 재시작할때 남은 구간만 이어서 실행함
+ * 실행 중에 락(JobLock.Lease)을 뺏기면 다음 구간부터 시작하지 않고 중단 - 남은 구간은 락을 가져간 서버가 이어서 실행
+ */
+@Slf4j
+@Component
+public class ChunkedJobExecutor {
+
+    // 구간 하나를 처리하고 처리한 아이템 수를 리턴 - 쓰기 트랜잭션은 lease.fence() 로 막아야 함
+    // 체크포인트는 리턴한 뒤에 기록하므로 쓰기가 모두 끝난 뒤에 리턴하고, 그 사이에 죽으면 같은 구간이 다시 실행되므로 두번 처리해도 결과가 같아야 함
+    public interface ChunkWork {
+        int process(int fromIdx, int toIdx, JobLock.Lease lease) throws Exception;
+    }
+
+    private static class JobDefinition {
+        private final int chunkSize;
+        private final Supplier<IdRange> range;
+        private final ChunkWork work;
+
+        private JobDefinition(int chunkSize, Supplier<IdRange> range, ChunkWork work) {
+            this.chunkSize = chunkSize;
+            this.range = range;
+            this.work = work;
+        }
+    }
+
+    // 구간을 동시에 몇개까지 처리할지
+    @Value("${SCHEDULER.JOB_THREADS:4}")
+    private int threads;
+
+    private JobMapper jobMapper;
+    private JobLock jobLock;
+    private TaskScheduler taskScheduler;
+    private TransactionTemplate transactionTemplate;
+
+    private ThreadPoolExecutor chunkPool;
+    private final Map<String, JobDefinition> jobs = new ConcurrentHashMap<>();
+    private final Map<String, JobStats> lastStats = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> totalFailedChunks = new ConcurrentHashMap<>();
+
+    public ChunkedJobExecutor(JobMapper jobMapper, JobLock jobLock, TaskScheduler taskScheduler, TransactionTemplate transactionTemplate) {
+        this.jobMapper = jobMapper;
+        this.jobLock = jobLock;
+        this.taskScheduler = taskScheduler;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @PostConstruct
+    public void init() {
+        final AtomicInteger seq = new AtomicInteger();
+        // 대기열이 차면 호출한 스레드가 직접 처리 - 구간 수가 많아도 메모리가 무한정 늘지 않음
+        chunkPool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(1000),
+                runnable -> new Thread(runnable, "job-chunk-" + seq.incrementAndGet()),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        chunkPool.shutdown();
+    }
+
+
+    public void register(final String jobName, final int chunkSize, final Supplier<IdRange> range, final ChunkWork work) {
+        jobs.put(jobName, new JobDefinition(chunkSize, range, work));
+    }
+
+    public Collection<JobStats> getStats() {
+        return lastStats.values();
+    }
+
+
+    // 오늘 날짜를 runKey 로 작업 실행 - 오늘 이미 일부 구간을 끝낸 기록이 있으면 나머지만 실행
+    // lease 는 JobLock.runIfLeader 에서 받은 락
+    public JobStats run(final String jobName, final JobLock.Lease lease) throws InterruptedException {
+        final JobDefinition job = jobs.get(jobName);
+        if(job == null)
+            throw new IllegalArgumentException("Unknown job : " + jobName);
+
+        final String runKey = LocalDate.now().toString();
+        final JobStats stats = new JobStats();
+        stats.setJobName(jobName);
+        stats.setRunKey(runKey);
+        stats.setStartedAt(System.currentTimeMillis());
+
+        // 이어서 실행하는 경우엔 처음 정한 구간을 그대로 사용
+        int minIdx, maxIdx;
+        final JobRun previous = jobMapper.findRun(jobName, runKey);
+        if(previous != null) {
+            minIdx = previous.getMinIdx();
+            maxIdx = previous.getMaxIdx();
+        }
+        else {
+            final IdRange range = job.range.get();
+            if(range == null || range.getMinIdx() == null) { // 대상 없음
+                stats.setStatus("DONE");
+                lastStats.put(jobName, stats);
+                return stats;
+            }
+            minIdx = range.getMinIdx();
+            maxIdx = range.getMaxIdx();
+        }
+        jobMapper.startRun(jobName, runKey, minIdx, maxIdx);
+
+        final Set<Integer> done = new HashSet<>(jobMapper.findDoneChunks(jobName, runKey));
+        final AtomicLong items = new AtomicLong();
+        final AtomicInteger failed = new AtomicInteger();
+        final AtomicInteger aborted = new AtomicInteger();
+        final List<Future<?>> futures = new ArrayList<>();
+
+        for(long from = minIdx; from <= maxIdx; from += job.chunkSize) {
+            final int chunkFrom = (int) from;
+            final int chunkTo = (int) Math.min(from + job.chunkSize - 1, maxIdx);
+            stats.setChunks(stats.getChunks() + 1);
+
+            if(done.contains(chunkFrom)) {
+                stats.setSkippedChunks(stats.getSkippedChunks() + 1);
+                continue;
+            }
+
+            futures.add(chunkPool.submit(() -> {
+                // 락을 뺏겼으면 구간 경계에서 중단
+                if(!lease.isValid()) {
+                    aborted.incrementAndGet();
+                    return;
+                }
+
+                try {
+                    final int cnt = job.work.process(chunkFrom, chunkTo, lease);
+                    transactionTemplate.execute(status -> {
+                        lease.fence();
+                        return jobMapper.saveCheckpoint(jobName, runKey, chunkFrom, chunkTo, cnt);
+                    });
+                    items.addAndGet(cnt);
+                } catch(Exception e) {
+                    failed.incrementAndGet();
+                    log.error("@@@@@ " + jobName + " chunk " + chunkFrom + " ~ " + chunkTo + " fail!! @@@@@");
+                    log.error("Exception Detail (below)", e);
+                }
+            }));
+        }
+
+        for(Future<?> future : futures) {
+            try {
+                future.get();
+            } catch(ExecutionException e) { // 구간 안에서 다 잡으므로 올 일 없음
+                failed.incrementAndGet();
+            }
+        }
+
+        stats.setItems(items.get());
+        stats.setFailedChunks(failed.get());
+        stats.setStatus(aborted.get() > 0 || !lease.isValid() ? "ABORTED" : failed.get() == 0 ? "DONE" : "FAILED");
+        stats.setDurationMs(System.currentTimeMillis() - stats.getStartedAt());
+        stats.setTotalFailedChunks(totalFailedChunks.computeIfAbsent(jobName, key -> new AtomicLong()).addAndGet(failed.get()));
+        // 락을 뺏겼으면 job_run 은 RUNNING 으로 남겨둠 - 락을 가져간 서버가 이어서 실행하고 끝냄
+        if(!"ABORTED".equals(stats.getStatus())) {
+            transactionTemplate.execute(status -> {
+                lease.fence();
+                return jobMapper.finishRun(jobName, runKey, stats.getStatus());
+            });
+        }
+
+        lastStats.put(jobName, stats);
+        log.info("- " + jobName + " " + stats.getStatus() + " : " + stats.getItems() + " items, " + stats.getChunks() + " chunks (" +
+                stats.getSkippedChunks() + " skipped, " + stats.getFailedChunks() + " failed), " + stats.getDurationMs() + "ms, " +
+                String.format("%.1f", stats.getItemsPerSec()) + " items/sec");
+        return stats;
+    }
+
+
+    // 서버 시작시 오늘 끝나지 않은 실행이 있으면 이어서 실행 (시작을 막지 않도록 스케줄러 스레드에서)
+    // 죽은 이전 프로세스가 잡고 있던 임대는 만료될때까지 남아있으므로, 락을 못 잡으면 만료될 시간이 지날때까지 다시 시도
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeIncomplete() {
+        final long deadline = System.currentTimeMillis() + jobLock.getLeaseMs() * 2;
+        taskScheduler.schedule(() -> resume(null, deadline), new Date());
+    }
+
+    // jobNames 가 null 이면 끝나지 않은 모든 실행, 아니면 그 작업들만 (지난번에 락을 못 잡은 작업)
+    private void resume(final Set<String> jobNames, final long deadline) {
+        final Set<String> waiting = new HashSet<>();
+        boolean failed = false;
+        try {
+            for(JobRun run : jobMapper.findIncompleteRuns(LocalDate.now().toString())) {
+                if(!jobs.containsKey(run.getJobName()) || (jobNames != null && !jobNames.contains(run.getJobName())))
+                    continue;
+                log.info("@@@@@ Resume " + run.getJobName() + " (" + run.getRunKey() + ", " + run.getStatus() + ") @@@@@");
+                try {
+                    if(!jobLock.runIfLeader(run.getJobName(), lease -> run(run.getJobName(), lease)))
+                        waiting.add(run.getJobName());
+                } catch(Exception e) {
+                    log.error("@@@@@ ChunkedJobExecutor resume " + run.getJobName() + " fail!! @@@@@");
+                    log.error("Exception Detail (below)", e);
+                }
+            }
+        } catch(Exception e) {
+            log.error("@@@@@ ChunkedJobExecutor resume fail!! @@@@@");
+            log.error("Exception Detail (below)", e);
+            failed = true; // 조회부터 실패했으면 같은 대상으로 다시 시도
+        }
+
+        // 락을 가진 서버가 끝내면 findIncompleteRuns 에서 빠지므로 그때 멈춤
+        if(!failed && waiting.isEmpty())
+            return;
+        if(System.currentTimeMillis() > deadline) {
+            log.error("@@@@@ ChunkedJobExecutor resume gave up!! jobs : " + waiting + " @@@@@");
+            return;
+        }
+        final long retryMs = Math.max(jobLock.getLeaseMs() / 3, 1000L);
+        final Set<String> next = failed ? jobNames : waiting;
+        taskScheduler.schedule(() -> resume(next, deadline), new Date(System.currentTimeMillis() + retryMs));
+    }
+}
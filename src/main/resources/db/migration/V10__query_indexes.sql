@@ -0,0 +1,19 @@
+-- 매퍼 쿼리들이 쓰는 인덱스 - MapperIndexTest 가 EXPLAIN 으로 실제로 타는지 확인함
+
+-- 공고 목록/맞춤공고 목록 (valid = 1 AND notfit = 0 ORDER BY noticeidx DESC)
+CREATE INDEX idx_notice_valid_notfit_noticeidx ON notice (valid, notfit, noticeidx);
+
+-- 만료 공고 스캔, D-3 알람 (valid = 1 AND end_date < / = ...)
+CREATE INDEX idx_notice_valid_end_date ON notice (valid, end_date);
+
+-- 유저가 스크랩한 공고 목록 (useridx = ? ORDER BY timestamp DESC)
+CREATE INDEX idx_scrap_notice_useridx_timestamp ON scrap_notice (useridx, timestamp);
+
+-- 유저의 알람 목록/읽지않은 알람 개수, 워터마크 마이그레이션 (useridx = ? AND checked = 0)
+CREATE INDEX idx_notification_useridx_checked_notificationidx ON notification (useridx, checked, notificationidx);
+
+-- 최근 검색어 (useridx = ? ORDER BY searchlogidx DESC)
+CREATE INDEX idx_search_log_useridx_searchlogidx ON search_log (useridx, searchlogidx);
+
+-- 새 공고 알람 대상 맞춤조건 (alert = 1)
+CREATE INDEX idx_cond_alert ON cond (alert);
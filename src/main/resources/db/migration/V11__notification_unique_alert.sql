@@ -0,0 +1,15 @@
+-- 같은 (공고, 유저, 알람 종류) 알람은 1개만 - 스케줄 작업 구간을 다시 실행해도 INSERT IGNORE 로 중복 알람이 생기지 않음
+-- 유저별 조회 인덱스(idx_notification_useridx_checked_notificationidx)와 겹치지 않도록 noticeidx 부터
+
+-- 먼저 기존 중복 row 는 가장 먼저 저장된 것만 남김
+DELETE FROM notification
+WHERE notificationidx NOT IN (
+    SELECT keep.notificationidx
+    FROM (
+        SELECT MIN(notificationidx) AS notificationidx
+        FROM notification
+        GROUP BY noticeidx, useridx, alerttype
+    ) AS keep
+);
+
+CREATE UNIQUE INDEX uk_notification_noticeidx_useridx_alerttype ON notification (noticeidx, useridx, alerttype);
@@ -0,0 +1,4 @@
+-- 맞춤조건의 알람을 켠 시점의 마지막 noticeeventidx - event 방식 알람 목록은 이 값보다 큰 공고 이벤트만 매칭
+-- 새로 만들거나 다시 켠 맞춤조건에 예전 공고 이벤트가 한꺼번에 알람으로 뜨지 않도록 함 (기존 맞춤조건은 0 이라 지금처럼 보임)
+ALTER TABLE cond
+    ADD COLUMN alert_noticeeventidx INT NOT NULL DEFAULT 0;
@@ -0,0 +1,10 @@
+-- 묶음 알람(NotificationCoalescer)으로 아직 저장되지 않은 새 공고 알람 - 공고 저장 트랜잭션에서 같이 INSERT
+-- 묶음 알람을 저장하는 트랜잭션에서 삭제, 서버가 죽어서 남은 row 는 다른 서버가 찾아서 저장함
+CREATE TABLE notification_outbox (
+    useridx   INT          NOT NULL,
+    noticeidx INT          NOT NULL,
+    title     VARCHAR(500) NOT NULL,
+    timestamp DATETIME     NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (useridx, noticeidx),
+    KEY idx_notification_outbox_timestamp (timestamp)
+);
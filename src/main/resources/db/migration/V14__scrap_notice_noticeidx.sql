@@ -0,0 +1,2 @@
+-- 공고별 스크랩 수를 scrap_notice 에서 다시 COUNT 할때 사용 (ScrapCountBuffer, 새벽 정리 작업)
+CREATE INDEX idx_scrap_notice_noticeidx ON scrap_notice (noticeidx);
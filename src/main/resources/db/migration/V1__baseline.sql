@@ -0,0 +1,90 @@
+-- 기본 테이블 - 이전까지 RDS 에 직접 만들어서 쓰던 스키마를 매퍼 쿼리 기준으로 옮김
+-- 이미 테이블이 있는 DB 는 FlywayConfig 의 baseline 으로 이 버전을 건너뜀 (FLYWAY.BASELINE_VERSION)
+CREATE TABLE user (
+    useridx    INT          NOT NULL AUTO_INCREMENT,
+    email      VARCHAR(255) NOT NULL,
+    password   VARCHAR(255) NOT NULL,
+    nickname   VARCHAR(45)  NOT NULL,
+    profileurl VARCHAR(500) NULL,
+    talkalert  TINYINT      NOT NULL DEFAULT 1,
+    PRIMARY KEY (useridx)
+);
+
+-- location, category, age, period, field, advantage, busitype : MultipleOption 보기들의 비트 플래그
+CREATE TABLE notice (
+    noticeidx   INT          NOT NULL AUTO_INCREMENT,
+    location    BIGINT       NOT NULL DEFAULT 0,
+    category    INT          NOT NULL DEFAULT 0,
+    age         INT          NOT NULL DEFAULT 0,
+    period      INT          NOT NULL DEFAULT 0,
+    field       BIGINT       NOT NULL DEFAULT 0,
+    advantage   INT          NOT NULL DEFAULT 0,
+    busitype    INT          NOT NULL DEFAULT 0,
+    title       VARCHAR(500) NOT NULL,
+    institution VARCHAR(255) NOT NULL,
+    end_date    DATE         NOT NULL,
+    readcnt     INT          NOT NULL DEFAULT 0,
+    valid       TINYINT      NOT NULL DEFAULT 1,
+    notfit      TINYINT      NOT NULL DEFAULT 0,
+    PRIMARY KEY (noticeidx)
+);
+
+CREATE TABLE notice_detail (
+    noticeidx    INT           NOT NULL,
+    reg_date     DATE          NULL,
+    start_date   DATE          NULL,
+    phone        VARCHAR(255)  NULL,
+    refer_url    VARCHAR(1000) NULL,
+    origin_url   VARCHAR(1000) NULL,
+    part         VARCHAR(255)  NULL,
+    detail_one   TEXT          NULL,
+    detail_two   TEXT          NULL,
+    detail_three TEXT          NULL,
+    timestamp    DATETIME      NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (noticeidx)
+);
+
+-- 유저별 맞춤조건 (최대 2개), 비트 플래그는 notice 와 같음
+CREATE TABLE cond (
+    condidx   INT         NOT NULL AUTO_INCREMENT,
+    useridx   INT         NOT NULL,
+    condname  VARCHAR(45) NOT NULL,
+    location  BIGINT      NOT NULL DEFAULT 0,
+    age       INT         NOT NULL DEFAULT 0,
+    period    INT         NOT NULL DEFAULT 0,
+    category  INT         NOT NULL DEFAULT 0,
+    field     BIGINT      NOT NULL DEFAULT 0,
+    advantage INT         NOT NULL DEFAULT 0,
+    busitype  INT         NOT NULL DEFAULT 0,
+    alert     TINYINT     NOT NULL DEFAULT 0,
+    PRIMARY KEY (condidx),
+    KEY idx_cond_useridx (useridx)
+);
+
+-- (useridx, noticeidx) 가 PK 라서 INSERT IGNORE 로 중복 스크랩을 막음
+CREATE TABLE scrap_notice (
+    useridx   INT      NOT NULL,
+    noticeidx INT      NOT NULL,
+    scrap     TINYINT  NOT NULL DEFAULT 1,
+    timestamp DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (useridx, noticeidx)
+);
+
+CREATE TABLE notification (
+    notificationidx INT          NOT NULL AUTO_INCREMENT,
+    useridx         INT          NOT NULL,
+    noticeidx       INT          NOT NULL,
+    alerttype       VARCHAR(32)  NOT NULL,
+    message         VARCHAR(500) NOT NULL,
+    checked         TINYINT      NOT NULL DEFAULT 0,
+    timestamp       DATETIME     NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (notificationidx)
+);
+
+CREATE TABLE search_log (
+    searchlogidx INT          NOT NULL AUTO_INCREMENT,
+    useridx      INT          NOT NULL,
+    query        VARCHAR(255) NOT NULL,
+    timestamp    DATETIME     NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (searchlogidx)
+);
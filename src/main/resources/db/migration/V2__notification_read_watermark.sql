@@ -0,0 +1,7 @@
+-- 알람 읽음 여부를 notification.checked 플래그 대신 유저별 워터마크로 관리
+-- notificationidx 가 last_read_notificationidx 보다 크면 안 읽은 알람
+ALTER TABLE user
+    ADD COLUMN last_read_notificationidx INT NOT NULL DEFAULT 0;
+
+-- 컬럼 추가 후 MIGRATION.NOTIFICATION_WATERMARK=true 로 서버를 한번 띄우면
+-- NotificationWatermarkMigration 이 기존 checked 값으로부터 워터마크를 구간별로 채움
@@ -0,0 +1,13 @@
+-- NOTIFICATION.STORAGE=event 일때 사용하는 테이블
+-- 새 공고 1개당 1 row 만 쓰고, 유저별 알람 목록은 읽을때 알람이 켜진 맞춤조건과 매칭해서 만듦
+CREATE TABLE notice_event (
+    noticeeventidx INT NOT NULL AUTO_INCREMENT,
+    noticeidx      INT NOT NULL,
+    timestamp      DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (noticeeventidx),
+    KEY idx_notice_event_noticeidx (noticeidx)
+);
+
+-- 공고 이벤트 읽음 워터마크 - noticeeventidx 가 이 값보다 크면 안 읽은 알람
+ALTER TABLE user
+    ADD COLUMN last_read_noticeeventidx INT NOT NULL DEFAULT 0;
@@ -0,0 +1,3 @@
+-- 묶음 알람(NewNoticeDigest)에 포함된 공고들의 noticeIdx, 콤마로 구분 (일반 알람은 NULL)
+ALTER TABLE notification
+    ADD COLUMN noticeidxs VARCHAR(1000) NULL DEFAULT NULL;
@@ -0,0 +1,10 @@
+-- 여러 서버에서 같은 스케줄 작업이 한번만 실행되도록 잡는 DB 임대(lease) 락
+-- holder : 락을 잡은 서버, expires_at : 임대 만료시각 (지나면 다른 서버가 가져갈 수 있음)
+-- token : 펜싱 토큰, 다른 서버가 락을 가져갈 때마다 1씩 증가
+CREATE TABLE job_lock (
+    jobname    VARCHAR(64)  NOT NULL,
+    holder     VARCHAR(128) NOT NULL,
+    expires_at TIMESTAMP(3) NOT NULL,
+    token      BIGINT       NOT NULL,
+    PRIMARY KEY (jobname)
+);
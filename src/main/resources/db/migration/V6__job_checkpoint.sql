@@ -0,0 +1,23 @@
+-- 스케줄 작업 실행 기록 - runkey 는 실행 날짜 (yyyy-MM-dd)
+-- status : RUNNING(실행중 또는 중간에 죽음) / DONE / FAILED(실패한 구간이 있음)
+CREATE TABLE job_run (
+    jobname     VARCHAR(64) NOT NULL,
+    runkey      VARCHAR(32) NOT NULL,
+    status      VARCHAR(16) NOT NULL,
+    minidx      INT         NOT NULL,
+    maxidx      INT         NOT NULL,
+    started_at  DATETIME    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    finished_at DATETIME    NULL,
+    PRIMARY KEY (jobname, runkey)
+);
+
+-- 끝난 구간 기록 - 같은 runkey 로 다시 실행하면 여기 있는 구간은 건너뜀
+CREATE TABLE job_checkpoint (
+    jobname   VARCHAR(64) NOT NULL,
+    runkey    VARCHAR(32) NOT NULL,
+    chunkfrom INT         NOT NULL,
+    chunkto   INT         NOT NULL,
+    items     INT         NOT NULL,
+    done_at   DATETIME    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (jobname, runkey, chunkfrom)
+);
@@ -0,0 +1,9 @@
+-- 공고별 시간 단위 조회수 - 인기 공고(최근 24시간) 계산용, 서버 재시작시 이 테이블에서 복구
+-- bucket_hour : epoch 기준 시간 번호 (epoch millis / 3600000)
+CREATE TABLE notice_view_bucket (
+    noticeidx   INT    NOT NULL,
+    bucket_hour INT    NOT NULL,
+    cnt         BIGINT NOT NULL,
+    PRIMARY KEY (noticeidx, bucket_hour),
+    KEY idx_notice_view_bucket_hour (bucket_hour)
+);
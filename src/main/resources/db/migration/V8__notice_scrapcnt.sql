@@ -0,0 +1,9 @@
+-- 공고별 스크랩 수 - scrap_notice 를 COUNT 하지 않고 목록 정렬(스크랩 많은 순)에 사용
+-- 스크랩 설정/해제시 증가분을 모았다가 반영하고, 매일 새벽 scrap_notice 기준으로 다시 맞춤
+ALTER TABLE notice
+    ADD COLUMN scrapcnt INT NOT NULL DEFAULT 0;
+
+CREATE INDEX idx_notice_valid_scrapcnt ON notice (valid, scrapcnt);
+
+UPDATE notice
+SET scrapcnt = (SELECT COUNT(*) FROM scrap_notice AS s WHERE s.noticeidx = notice.noticeidx);
@@ -0,0 +1,10 @@
+-- 공고 목록(카탈로그) 변경 로그 - /notices/changes 로 클라가 마지막으로 받은 changeidx 이후 변경분만 받아감
+-- 공고 추가/비활성화/만료될때 공고 1개당 1 row, 오래된 row 는 NoticeScheduler 가 정리 (가장 최근 row 는 남김)
+CREATE TABLE notice_change (
+    changeidx BIGINT NOT NULL AUTO_INCREMENT,
+    noticeidx INT NOT NULL,
+    type      VARCHAR(16) NOT NULL, -- ADDED, INVALIDATED, EXPIRED
+    timestamp DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (changeidx),
+    KEY idx_notice_change_timestamp (timestamp)
+);
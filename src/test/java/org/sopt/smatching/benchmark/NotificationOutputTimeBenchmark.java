@@ -0,0 +1,99 @@
+package org.sopt.smatching.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.sopt.smatching.model.notification.NotificationOutput;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 1,000개짜리 알람 목록의 경과시간 문자열 생성 비교
+ * - legacy : 알람마다 SimpleDateFormat 2개 생성 + 문자열 파싱 (기존 NotificationOutput.writeOutputTime 그대로, 파싱 패턴 포함)
+ * - epochMillis : 매퍼에서 받은 epoch millis + 공유 DateTimeFormatter + 요청당 now 1번
+ *
+ * 실행 : NotificationOutputTimeBenchmark.main() (test classpath)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NotificationOutputTimeBenchmark {
+
+    private static final int FEED_SIZE = 1000;
+
+    private List<NotificationOutput> feed;
+    private List<String> legacyTimestamps;
+
+    // 측정하는 작업이 짧아서 입력은 한번만 만듦 - 두 방식 모두 입력을 바꾸지 않음 (epochMillis 는 같은 outputTime 을 다시 씀)
+    @Setup(Level.Trial)
+    public void setUp() {
+        // 최근 1분 ~ 며칠 전까지 섞인 알람들
+        final long now = System.currentTimeMillis();
+        final SimpleDateFormat dt = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+        feed = new ArrayList<>(FEED_SIZE);
+        legacyTimestamps = new ArrayList<>(FEED_SIZE);
+        for(int i = 0; i < FEED_SIZE; i++) {
+            long createdAt = now - i * 7L * 60 * 1000;
+            NotificationOutput notificationOutput = new NotificationOutput();
+            notificationOutput.setCreatedAt(createdAt);
+            feed.add(notificationOutput);
+            legacyTimestamps.add(dt.format(new Date(createdAt)));
+        }
+    }
+
+    @Benchmark
+    public List<NotificationOutput> epochMillis() {
+        final long now = System.currentTimeMillis();
+        for(NotificationOutput notificationOutput : feed)
+            notificationOutput.writeOutputTime(now);
+        return feed;
+    }
+
+    @Benchmark
+    public List<String> legacy() {
+        List<String> out = new ArrayList<>(FEED_SIZE);
+        for(String outputTime : legacyTimestamps) {
+            try {
+                SimpleDateFormat dt = new SimpleDateFormat("yyyy-mm-dd hh:mm:ss");
+                Date timestamp = dt.parse(outputTime);
+
+                long diff = new Date().getTime() - (timestamp.getTime());
+                int diffSec = (int) (diff / 1000L);
+                int diffMin = diffSec / 60;
+                int diffHour = diffMin / 60;
+
+                String output;
+                if(diffHour < 24) {
+                    output = diffHour + "시간 전";
+                    if(diffMin < 60) {
+                        output = diffMin + "분 전";
+                        if(diffSec < 60)
+                            output = diffSec + "초 전";
+                    }
+                }
+                else
+                    output = new SimpleDateFormat("MM/dd HH:mm").format(timestamp);
+
+                out.add(output);
+
+            } catch(Exception e) {
+                e.printStackTrace();
+            }
+        }
+        return out;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(NotificationOutputTimeBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
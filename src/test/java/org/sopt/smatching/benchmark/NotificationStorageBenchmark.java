@@ -0,0 +1,128 @@
+package org.sopt.smatching.benchmark;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.sopt.smatching.mapper.CondMapper;
+import org.sopt.smatching.mapper.NoticeEventMapper;
+import org.sopt.smatching.mapper.NoticeMapper;
+import org.sopt.smatching.mapper.NotificationMapper;
+import org.sopt.smatching.model.notice.Notice;
+import org.sopt.smatching.service.NotificationService;
+import org.sopt.smatching.utils.NotificationCoalescer;
+import org.sopt.smatching.utils.NotificationStreamRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 알람 저장 방식(row / event)별 쓰기 증폭과 알람 목록 조회 시간 비교
+ * 설정된 DB 에 가짜 유저/맞춤조건/공고를 넣고 측정한 뒤 트랜잭션 롤백으로 모두 지움
+ *
+ * 실행 : mvn test -Dtest=NotificationStorageBenchmark -Dbenchmark=true [-Dbenchmark.users=5000 -Dbenchmark.notices=20]
+ */
+@Slf4j
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@Transactional
+public class NotificationStorageBenchmark {
+
+    private static final int USERS = Integer.getInteger("benchmark.users", 5000);
+    private static final int NOTICES = Integer.getInteger("benchmark.notices", 20);
+    private static final int FEED_READS = 200;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private NoticeMapper noticeMapper;
+    @Autowired
+    private CondMapper condMapper;
+    @Autowired
+    private NotificationMapper notificationMapper;
+    @Autowired
+    private NoticeEventMapper noticeEventMapper;
+    @Autowired
+    private NotificationCoalescer notificationCoalescer;
+    @Autowired
+    private NotificationStreamRegistry notificationStreamRegistry;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private List<Integer> userIdxList = new ArrayList<>();
+
+    @Before
+    public void seed() {
+        Assume.assumeTrue(Boolean.getBoolean("benchmark"));
+
+        // 가짜 유저들 + 모든 공고에 매칭되는 알람 켜진 맞춤조건 1개씩
+        final String prefix = "bench" + System.currentTimeMillis() + "_";
+        List<Object[]> users = new ArrayList<>();
+        for(int i = 0; i < USERS; i++)
+            users.add(new Object[] { "bench", prefix + i + "@smatching.org", "bench" });
+        jdbcTemplate.batchUpdate("INSERT INTO user(nickname, email, password) VALUES(?, ?, ?)", users);
+        userIdxList = jdbcTemplate.queryForList("SELECT useridx FROM user WHERE email LIKE ?", Integer.class, prefix + "%");
+
+        List<Object[]> conds = new ArrayList<>();
+        for(int userIdx : userIdxList)
+            conds.add(new Object[] { userIdx });
+        jdbcTemplate.batchUpdate("INSERT INTO cond(useridx, condname, location, age, period, category, field, advantage, busitype, alert) " +
+                "VALUES(?, 'bench', 0, 0, 511, 255, 4194303, 0, 127, 1)", conds);
+    }
+
+    @Test
+    public void compareStorage() {
+        for(String storage : new String[] { NotificationService.STORAGE_ROW, NotificationService.STORAGE_EVENT }) {
+            // 저장 방식만 다른 서비스를 따로 만들어서 측정 (나머지 빈은 그대로 사용)
+            NotificationService notificationService = new NotificationService(condMapper, notificationMapper, noticeEventMapper,
+                    notificationCoalescer, notificationStreamRegistry, eventPublisher, storage);
+
+            // 쓰기 - 공고 1개당 쓴 row 수와 걸린 시간
+            long rows = 0;
+            long writeNanos = 0;
+            for(int i = 0; i < NOTICES; i++) {
+                Notice notice = benchNotice(i);
+                noticeMapper.save(notice);
+
+                long start = System.nanoTime();
+                rows += notificationService.notifyNewNotice(notice);
+                writeNanos += System.nanoTime() - start;
+            }
+
+            // 읽기 - 유저 알람 목록 조회 시간
+            long readNanos = 0;
+            for(int i = 0; i < FEED_READS; i++) {
+                int userIdx = userIdxList.get(i % userIdxList.size());
+                long start = System.nanoTime();
+                notificationService.readFeed(userIdx);
+                readNanos += System.nanoTime() - start;
+            }
+
+            log.info("@@@@@ storage=" + storage + ", users=" + userIdxList.size() + ", notices=" + NOTICES +
+                    "\n- rows written per notice : " + (rows / (double) NOTICES) +
+                    "\n- write ms per notice : " + (writeNanos / 1e6 / NOTICES) +
+                    "\n- feed read ms (avg of " + FEED_READS + ") : " + (readNanos / 1e6 / FEED_READS));
+        }
+    }
+
+    private Notice benchNotice(int i) {
+        Notice notice = new Notice();
+        notice.setTitle("bench notice " + i);
+        notice.setInstitution("bench");
+        notice.setEnd_date("2099-12-31");
+        notice.setLocation(1L);
+        notice.setAge(1);
+        notice.setPeriod(1);
+        notice.setCategory(1);
+        notice.setField(1L);
+        notice.setBusiType(1);
+        return notice;
+    }
+}
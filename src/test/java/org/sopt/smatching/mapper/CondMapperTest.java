@@ -0,0 +1,127 @@
+package org.sopt.smatching.mapper;
+
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sopt.smatching.model.cond.Cond;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+// 내장 H2(MySQL 모드)에서 맞춤조건 수정/알람 변경이 공고 이벤트 시작점(alert_noticeeventidx)을 맞게 옮기는지 검증
+public class CondMapperTest {
+
+    private EmbeddedDatabase db;
+    private Configuration configuration;
+
+    @Before
+    public void setUp() throws IOException, SQLException {
+        EmbeddedDatabaseBuilder builder = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .setName("condmapper;MODE=MySQL");
+        for(String script : MapperIndexTest.migrationScripts())
+            builder.addScript(script);
+        db = builder.build();
+
+        configuration = new Configuration(new Environment("test", new JdbcTransactionFactory(), db));
+        configuration.addMapper(CondMapper.class);
+
+        // 1번은 알람 켜진 맞춤조건, 2번은 꺼진 맞춤조건 - 둘다 공고 이벤트 3개가 생기기 전에 만들어짐
+        try(Connection conn = db.getConnection(); Statement st = conn.createStatement()) {
+            st.execute("INSERT INTO cond(condidx, useridx, condname, alert) VALUES(1, 7, 'on', 1)");
+            st.execute("INSERT INTO cond(condidx, useridx, condname, alert) VALUES(2, 7, 'off', 0)");
+            for(int i = 1; i <= 3; i++)
+                st.execute("INSERT INTO notice_event(noticeidx) VALUES(" + i + ")");
+        }
+    }
+
+    @After
+    public void tearDown() {
+        db.shutdown();
+    }
+
+
+    @Test
+    public void editingEnabledCondMovesNoticeEventStart() throws SQLException {
+        assertEquals(1, update("CondMapper.updateByCondIdx", condParams(1)));
+
+        // 바뀐 조건은 수정 이후의 공고 이벤트만 매칭
+        assertEquals(3, noticeEventStart(1));
+    }
+
+    @Test
+    public void editingDisabledCondKeepsNoticeEventStart() throws SQLException {
+        assertEquals(1, update("CondMapper.updateByCondIdx", condParams(2)));
+
+        // 꺼진 맞춤조건은 켜질때 시작점이 정해짐
+        assertEquals(0, noticeEventStart(2));
+    }
+
+    @Test
+    public void enablingAlertMovesNoticeEventStart() throws SQLException {
+        Map<String, Object> params = new HashMap<>();
+        params.put("userIdx", 7);
+        params.put("condIdx", 2);
+        params.put("value", 1);
+        assertEquals(1, update("CondMapper.updateAlert", params));
+
+        assertEquals(3, noticeEventStart(2));
+    }
+
+
+    private static Map<String, Object> condParams(final int condIdx) {
+        Cond cond = new Cond();
+        cond.setCondName("edited");
+        cond.setPeriod(1);
+        cond.setBusiType(1);
+        cond.setField(1);
+        cond.setCategory(1);
+
+        Map<String, Object> params = new HashMap<>();
+        params.put("userIdx", 7);
+        params.put("condIdx", condIdx);
+        params.put("cond", cond);
+        return params;
+    }
+
+    private int noticeEventStart(final int condIdx) throws SQLException {
+        try(Connection conn = db.getConnection();
+            Statement st = conn.createStatement();
+            ResultSet rs = st.executeQuery("SELECT alert_noticeeventidx FROM cond WHERE condidx = " + condIdx)) {
+            assertTrue(rs.next());
+            return rs.getInt(1);
+        }
+    }
+
+    // 매퍼에 있는 SQL 그대로 실행 (MySQL 문법만 MapperIndexTest.toH2 로 바꿈)
+    private int update(final String statementId, final Object params) throws SQLException {
+        BoundSql boundSql = configuration.getMappedStatement(getClass().getPackage().getName() + "." + statementId).getBoundSql(params);
+        MetaObject metaObject = configuration.newMetaObject(params);
+
+        try(Connection conn = db.getConnection();
+            PreparedStatement ps = conn.prepareStatement(MapperIndexTest.toH2(boundSql.getSql()))) {
+            List<ParameterMapping> mappings = boundSql.getParameterMappings();
+            for(int i = 0; i < mappings.size(); i++)
+                ps.setObject(i + 1, metaObject.getValue(mappings.get(i).getProperty()));
+            return ps.executeUpdate();
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package org.sopt.smatching.mapper;
+
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sopt.smatching.model.cond.Cond;
+import org.sopt.smatching.model.notice.Notice;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+// 내장 H2(MySQL 모드)에 db/migration 스크립트를 순서대로 적용하고, 매퍼 쿼리의 실행계획(EXPLAIN)이 기대한 인덱스를 타는지 검증
+// 인덱스가 빠지거나 쿼리가 바뀌어서 풀스캔으로 돌아가면 실패함
+public class MapperIndexTest {
+
+    private EmbeddedDatabase db;
+    private Configuration configuration;
+
+    @Before
+    public void setUp() throws IOException, SQLException {
+        EmbeddedDatabaseBuilder builder = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .setName("mapperindex;MODE=MySQL");
+        for(String script : migrationScripts())
+            builder.addScript(script);
+        db = builder.build();
+
+        configuration = new Configuration(new Environment("test", new JdbcTransactionFactory(), db));
+        configuration.addMapper(NoticeMapper.class);
+        configuration.addMapper(CondMapper.class);
+        configuration.addMapper(NotificationMapper.class);
+        configuration.addMapper(SearchMapper.class);
+
+        seed();
+    }
+
+    @After
+    public void tearDown() {
+        db.shutdown();
+    }
+
+
+    @Test
+    public void fitNoticeListUsesValidNotfitIndex() throws SQLException {
+        Cond cond = new Cond();
+        cond.setPeriod(1);
+        cond.setBusiType(1);
+        cond.setField(1);
+        cond.setCategory(1);
+
+        Map<String, Object> params = new HashMap<>();
+        params.put("cond", cond);
+        params.put("reqNum", 10);
+        params.put("existNum", 0);
+        assertUsesIndex("NoticeMapper.findFitNoticeSummary", params, "idx_notice_valid_notfit_noticeidx");
+    }
+
+    @Test
+    public void expiredNoticeScanUsesValidEndDateIndex() throws SQLException {
+        assertUsesIndex("NoticeMapper.getExpiredNotice", new HashMap<>(), "idx_notice_valid_end_date");
+    }
+
+    @Test
+    public void scrapedNoticeListUsesUserTimestampIndex() throws SQLException {
+        Map<String, Object> params = new HashMap<>();
+        params.put("userIdx", 7);
+        params.put("reqNum", 10);
+        params.put("existNum", 0);
+        assertUsesIndex("NoticeMapper.findScrapedNoticeSummary", params, "idx_scrap_notice_useridx_timestamp");
+    }
+
+    @Test
+    public void uncheckedNotificationCountUsesUserIndex() throws SQLException {
+        assertUsesIndex("NotificationMapper.countUnchecked", Collections.singletonMap("userIdx", 7), "idx_notification_useridx_checked_notificationidx");
+    }
+
+    @Test
+    public void queryLogUsesUserSearchLogIndex() throws SQLException {
+        assertUsesIndex("SearchMapper.findQueryLogsByUserIdx", Collections.singletonMap("userIdx", 7), "idx_search_log_useridx_searchlogidx");
+    }
+
+    @Test
+    public void notifiedUserUsesCondAlertIndex() throws SQLException {
+        Notice notice = new Notice();
+        notice.setPeriod(1);
+        notice.setBusiType(1);
+        notice.setField(1);
+        notice.setCategory(1);
+        notice.setLocation(1);
+        notice.setAge(1);
+        assertUsesIndex("CondMapper.getNotifiedUser", Collections.singletonMap("notice", notice), "idx_cond_alert");
+    }
+
+
+    // V1__, V2__ ... 를 버전 순서대로
+    static List<String> migrationScripts() throws IOException {
+        Resource[] resources = new PathMatchingResourcePatternResolver().getResources("classpath:db/migration/V*__*.sql");
+        List<String> names = new ArrayList<>();
+        for(Resource resource : resources)
+            names.add(resource.getFilename());
+        names.sort(Comparator.comparingInt(name -> Integer.parseInt(name.substring(1, name.indexOf("__")))));
+
+        List<String> scripts = new ArrayList<>();
+        for(String name : names)
+            scripts.add("db/migration/" + name);
+        return scripts;
+    }
+
+    // 옵티마이저가 선택도를 알 수 있게 유저 50명 분량의 데이터를 넣고 ANALYZE
+    private void seed() throws SQLException {
+        try(Connection conn = db.getConnection(); Statement st = conn.createStatement()) {
+            for(int i = 1; i <= 50; i++) {
+                st.addBatch("INSERT INTO user(email, password, nickname) VALUES('u" + i + "@test.com', 'pw', 'u" + i + "')");
+                st.addBatch("INSERT INTO cond(useridx, condname, alert) VALUES(" + i + ", 'c', " + (i % 10 == 0 ? 1 : 0) + ")");
+                st.addBatch("INSERT INTO search_log(useridx, query) VALUES(" + i + ", 'q')");
+            }
+            for(int i = 1; i <= 1000; i++)
+                st.addBatch("INSERT INTO notice(title, institution, end_date, valid, notfit) VALUES('t', 'i', '2019-01-01', " + (i % 5 == 0 ? 0 : 1) + ", " + (i % 3 == 0 ? 1 : 0) + ")");
+            for(int i = 1; i <= 1000; i++) {
+                int userIdx = i % 50 + 1;
+                st.addBatch("INSERT INTO scrap_notice(useridx, noticeidx) VALUES(" + userIdx + ", " + i + ")");
+                st.addBatch("INSERT INTO notification(useridx, noticeidx, alerttype, message) VALUES(" + userIdx + ", " + i + ", 'NewNotice', 'm')");
+            }
+            st.executeBatch();
+            st.execute("ANALYZE");
+        }
+    }
+
+    private void assertUsesIndex(final String statementId, final Object params, final String indexName) throws SQLException {
+        String plan = explain(statementId, params);
+        assertTrue(statementId + " does not use " + indexName + "\n" + plan, plan.toLowerCase().contains(indexName));
+    }
+
+    // 매퍼에 있는 SQL 그대로 EXPLAIN
+    private String explain(final String statementId, final Object params) throws SQLException {
+        BoundSql boundSql = configuration.getMappedStatement(getClass().getPackage().getName() + "." + statementId).getBoundSql(params);
+        MetaObject metaObject = configuration.newMetaObject(params);
+
+        try(Connection conn = db.getConnection();
+            PreparedStatement ps = conn.prepareStatement("EXPLAIN " + toH2(boundSql.getSql()))) {
+            List<ParameterMapping> mappings = boundSql.getParameterMappings();
+            for(int i = 0; i < mappings.size(); i++)
+                ps.setObject(i + 1, metaObject.getValue(mappings.get(i).getProperty()));
+
+            StringBuilder plan = new StringBuilder();
+            try(ResultSet rs = ps.executeQuery()) {
+                while(rs.next())
+                    plan.append(rs.getString(1)).append('\n');
+            }
+            return plan.toString();
+        }
+    }
+
+    // H2 에 없는 MySQL 문법만 같은 의미의 H2 함수로 바꿈 - 실행계획(WHERE, JOIN, ORDER BY)은 그대로
+    static String toH2(final String sql) {
+        String h2 = sql.replaceAll("(?i)DATEDIFF\\(([^,()]+),\\s*current_date\\)", "DATEDIFF('DAY', CURRENT_DATE, $1)")
+                .replaceAll("(?i)DATE_ADD\\(CURRENT_DATE,\\s*INTERVAL (\\d+) DAY\\)", "DATEADD('DAY', $1, CURRENT_DATE)")
+                .replaceAll("(?i)\\bIF\\(", "CASEWHEN(");
+
+        // a & b -> BITAND(a, b), a 는 컬럼이나 괄호로 끝나는 함수 호출
+        int amp;
+        while((amp = h2.indexOf(" & ")) >= 0) {
+            int start = amp;
+            if(h2.charAt(start - 1) == ')') {
+                int depth = 0;
+                do {
+                    start--;
+                    if(h2.charAt(start) == ')') depth++;
+                    else if(h2.charAt(start) == '(') depth--;
+                } while(depth > 0);
+            }
+            while(start > 0 && (Character.isLetterOrDigit(h2.charAt(start - 1)) || h2.charAt(start - 1) == '.' || h2.charAt(start - 1) == '_'))
+                start--;
+
+            int end = amp + 3;
+            while(end < h2.length() && !Character.isWhitespace(h2.charAt(end)) && h2.charAt(end) != ')')
+                end++;
+
+            h2 = h2.substring(0, start) + "BITAND(" + h2.substring(start, amp) + ", " + h2.substring(amp + 3, end) + ")" + h2.substring(end);
+        }
+        return h2;
+    }
+}
@@ -0,0 +1,185 @@
+package org.sopt.smatching.utils;
+
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.mybatis.spring.transaction.SpringManagedTransactionFactory;
+import org.sopt.smatching.mapper.JobLockMapper;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+// 내장 H2(MySQL 모드)에 job_lock 테이블을 만들고 서버 2대가 락을 주고받는 상황 검증
+public class JobLockTest {
+
+    private EmbeddedDatabase db;
+    private JobLockMapper mapper;
+    private TransactionTemplate transactionTemplate;
+
+    @Before
+    public void setUp() {
+        db = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .setName("joblock;MODE=MySQL")
+                .addScript("db/migration/V5__job_lock.sql")
+                .build();
+
+        // 앱과 같이 SqlSessionTemplate 로 실행 - 스프링 트랜잭션에 참여하고, 중복 키는 DuplicateKeyException 으로 바뀜
+        Configuration configuration = new Configuration(new Environment("test", new SpringManagedTransactionFactory(), db));
+        configuration.addMapper(JobLockMapper.class);
+        mapper = withShareLockForH2(new SqlSessionTemplate(new SqlSessionFactoryBuilder().build(configuration)).getMapper(JobLockMapper.class));
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(db));
+    }
+
+    @After
+    public void tearDown() {
+        db.shutdown();
+    }
+
+    @Test
+    public void onlyOneNodeAcquires() {
+        JobLock a = new JobLock(mapper, "node-a", 60000);
+        JobLock b = new JobLock(mapper, "node-b", 60000);
+
+        assertEquals(1L, a.tryAcquire("job"));
+        assertEquals(0L, b.tryAcquire("job"));
+
+        // 같은 서버는 다시 잡아도 토큰이 그대로
+        assertEquals(1L, a.tryAcquire("job"));
+        assertTrue(a.renew("job"));
+    }
+
+    @Test
+    public void expiredLeaseIsTakenOverWithNewFencingToken() throws InterruptedException {
+        JobLock a = new JobLock(mapper, "node-a", 50);
+        JobLock b = new JobLock(mapper, "node-b", 60000);
+
+        assertEquals(1L, a.tryAcquire("job"));
+        Thread.sleep(100); // a 의 임대 만료
+
+        assertEquals(2L, b.tryAcquire("job"));
+
+        // 뺏긴 쪽은 연장 실패
+        assertFalse(a.renew("job"));
+        assertFalse(a.isHeld("job"));
+    }
+
+    @Test
+    public void releasedLockCanBeAcquiredImmediately() {
+        JobLock a = new JobLock(mapper, "node-a", 60000);
+        JobLock b = new JobLock(mapper, "node-b", 60000);
+
+        a.tryAcquire("job");
+        a.release("job");
+
+        assertEquals(2L, b.tryAcquire("job"));
+    }
+
+    @Test
+    public void runIfLeaderRunsJobOnce() throws Exception {
+        JobLock a = new JobLock(mapper, "node-a", 60000);
+        JobLock b = new JobLock(mapper, "node-b", 60000);
+        AtomicInteger runCnt = new AtomicInteger();
+
+        assertTrue(a.runIfLeader("job", lease -> runCnt.incrementAndGet()));
+        // a 가 끝났어도 임대가 남아있으면 b 는 실행하지 않음
+        assertFalse(b.runIfLeader("job", lease -> runCnt.incrementAndGet()));
+
+        assertEquals(1, runCnt.get());
+    }
+
+    @Test
+    public void leaseIsInvalidAfterTakeover() throws Exception {
+        JobLock a = new JobLock(mapper, "node-a", 50);
+        JobLock b = new JobLock(mapper, "node-b", 60000);
+
+        assertTrue(a.runIfLeader("job", lease -> {
+            assertEquals(1L, lease.getToken());
+            assertTrue(lease.isValid());
+
+            Thread.sleep(100); // 작업 도중 a 의 임대 만료
+            assertEquals(2L, b.tryAcquire("job"));
+
+            // 연장에 실패하면 작업은 다음 구간부터 중단해야 함
+            a.renewHeld();
+            assertFalse(lease.isValid());
+        }));
+    }
+
+    @Test
+    public void staleLeaseIsFencedAfterTakeover() throws Exception {
+        JobLock a = new JobLock(mapper, "node-a", 50);
+        JobLock b = new JobLock(mapper, "node-b", 60000);
+
+        assertTrue(a.runIfLeader("job", lease -> {
+            // 아직 a 의 토큰이면 통과
+            transactionTemplate.execute(status -> {
+                lease.fence();
+                return null;
+            });
+
+            Thread.sleep(100); // 작업 도중 a 의 임대 만료
+            assertEquals(2L, b.tryAcquire("job"));
+
+            // 락을 뺏긴 뒤의 쓰기 트랜잭션은 펜싱에서 막힘
+            try {
+                transactionTemplate.execute(status -> {
+                    lease.fence();
+                    return null;
+                });
+                fail("stale lease passed the fence");
+            } catch(IllegalStateException e) {
+                assertTrue(e.getMessage(), e.getMessage().contains("current : 2"));
+            }
+        }));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void fenceNeedsTransaction() throws Exception {
+        JobLock a = new JobLock(mapper, "node-a", 60000);
+        a.runIfLeader("job", JobLock.Lease::fence);
+    }
+
+
+    // H2 에는 LOCK IN SHARE MODE 가 없어서 findTokenForShare 만 같은 조회를 FOR UPDATE 로 실행 (트랜잭션의 커넥션 사용)
+    private JobLockMapper withShareLockForH2(final JobLockMapper target) {
+        return (JobLockMapper) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[] { JobLockMapper.class }, (proxy, method, args) -> {
+            if(method.getName().equals("findTokenForShare"))
+                return findTokenForUpdate((String) args[0]);
+            try {
+                return method.invoke(target, args);
+            } catch(InvocationTargetException e) {
+                throw e.getCause();
+            }
+        });
+    }
+
+    private Long findTokenForUpdate(final String jobName) throws SQLException {
+        Connection conn = DataSourceUtils.getConnection(db);
+        try(PreparedStatement ps = conn.prepareStatement("SELECT token FROM job_lock WHERE jobname = ? FOR UPDATE")) {
+            ps.setString(1, jobName);
+            try(ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : null;
+            }
+        } finally {
+            DataSourceUtils.releaseConnection(conn, db);
+        }
+    }
+}
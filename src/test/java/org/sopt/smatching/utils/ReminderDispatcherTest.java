@@ -0,0 +1,81 @@
+package org.sopt.smatching.utils;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sopt.smatching.mapper.NotificationMapper;
+import org.sopt.smatching.model.notification.Notification;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// 커서로 많은 리마인더를 넘겨도 큐에는 MAX_PENDING 개까지만 쌓이는지 검증 (DB 는 mock)
+public class ReminderDispatcherTest {
+
+    private static final int MAX_PENDING = 50;
+    private static final int CHUNK_SIZE = 100; // MAX_PENDING 보다 큰 구간도 넘길 수 있어야 함
+    private static final int TOTAL = 2000;
+
+    private final AtomicInteger savedCnt = new AtomicInteger();
+    private ReminderDispatcher dispatcher;
+
+    @Before
+    public void setUp() {
+        NotificationMapper mapper = mock(NotificationMapper.class);
+        when(mapper.saveAll(anyList())).thenAnswer(invocation -> {
+            List<?> notificationList = invocation.getArgument(0);
+            savedCnt.addAndGet(notificationList.size());
+            return notificationList.size();
+        });
+
+        dispatcher = new ReminderDispatcher(mapper, mock(ApplicationEventPublisher.class), new TransactionTemplate(mock(PlatformTransactionManager.class)));
+        ReflectionTestUtils.setField(dispatcher, "windowSec", 1);
+        ReflectionTestUtils.setField(dispatcher, "maxWritesPerSec", 10000);
+        ReflectionTestUtils.setField(dispatcher, "batchSize", 20);
+        ReflectionTestUtils.setField(dispatcher, "pushConcurrency", 1);
+        ReflectionTestUtils.setField(dispatcher, "maxPending", MAX_PENDING);
+        dispatcher.start();
+    }
+
+    @After
+    public void tearDown() throws InterruptedException {
+        dispatcher.stop();
+    }
+
+    @Test
+    public void largeCursorNeverHoldsMoreThanMaxPending() throws Exception {
+        final LocalDate endDate = LocalDate.now().plusDays(3);
+        final List<CompletableFuture<Void>> saved = new ArrayList<>();
+        int dispatchedCnt = 0;
+
+        // 커서에서 구간 단위로 읽어서 넘기는 것과 같은 순서
+        for(int from = 0; from < TOTAL; from += CHUNK_SIZE) {
+            final List<Notification> chunk = new ArrayList<>(CHUNK_SIZE);
+            for(int i = from; i < from + CHUNK_SIZE; i++)
+                chunk.add(new Notification(i, 1, "ThreeDaysLeft", "t"));
+
+            saved.add(dispatcher.dispatch(chunk, endDate, null));
+            dispatchedCnt += chunk.size();
+
+            // 넘긴 알람 중 아직 저장되지 않은 것 = 메모리에 들고있는 알람
+            assertTrue("pending : " + (dispatchedCnt - savedCnt.get()), dispatchedCnt - savedCnt.get() <= MAX_PENDING);
+            assertTrue(dispatcher.getPendingCnt() <= MAX_PENDING);
+        }
+
+        CompletableFuture.allOf(saved.toArray(new CompletableFuture[0])).get();
+        assertEquals(TOTAL, savedCnt.get());
+        assertEquals(0, dispatcher.getPendingCnt());
+    }
+}